@@ -0,0 +1,125 @@
+package com.builtbybrendan.collegeApplicantClassifier.applicant;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Reads and writes the application information of an {@link Applicant} as a single comma separated line, in the
+ * order of {@link #HEADER}.  Felony dates are ISO dates separated by semicolons, and missing SAT or ACT scores are
+ * left empty.  The {@link ApplicantStatus} is not written, it is assigned again when the applicant is processed.
+ *
+ * <p>Names are the only free text, so backslashes, commas, carriage returns and line feeds in them are escaped with a
+ * backslash.  A formatted applicant never spans more than one line, whatever the names hold.
+ */
+public class ApplicantCsvFormat {
+
+    public static final String HEADER = "firstName,lastName,state,age,gpa,gpaScale,satScore,actScore,felonyDates";
+
+    private static final String SEPARATOR = ",";
+    private static final char SEPARATOR_CHAR = ',';
+    private static final char ESCAPE = '\\';
+    private static final String FELONY_DATE_SEPARATOR = ";";
+    private static final int FIELD_COUNT = 9;
+
+    public String format(Applicant applicant) {
+        StringBuilder line = new StringBuilder(96)
+                .append(escape(applicant.getFirstName())).append(SEPARATOR)
+                .append(escape(applicant.getLastName())).append(SEPARATOR)
+                .append(applicant.getState()).append(SEPARATOR)
+                .append(applicant.getAge()).append(SEPARATOR)
+                .append(applicant.getGpa()).append(SEPARATOR)
+                .append(applicant.getGpaScale()).append(SEPARATOR)
+                .append(applicant.getSatScore() != null ? applicant.getSatScore() : "").append(SEPARATOR)
+                .append(applicant.getActScore() != null ? applicant.getActScore() : "").append(SEPARATOR);
+
+        List<LocalDate> felonyDates = applicant.getFelonyDates();
+        for (int i = 0; i < felonyDates.size(); i++) {
+            if (i > 0) {
+                line.append(FELONY_DATE_SEPARATOR);
+            }
+            line.append(felonyDates.get(i));
+        }
+
+        return line.toString();
+    }
+
+    public Applicant parse(String line) {
+        List<String> fieldList = split(line);
+        if (fieldList.size() != FIELD_COUNT) {
+            throw new IllegalArgumentException(String.format("Applicant line must have %s fields", FIELD_COUNT));
+        }
+        String[] fields = fieldList.toArray(new String[0]);
+
+        return Applicant.builder()
+                .firstName(fields[0])
+                .lastName(fields[1])
+                .state(State.valueOf(fields[2]))
+                .age(Integer.parseInt(fields[3]))
+                .gpa(Double.parseDouble(fields[4]))
+                .gpaScale(Double.parseDouble(fields[5]))
+                .satScore(fields[6].isEmpty() ? null : Integer.valueOf(fields[6]))
+                .actScore(fields[7].isEmpty() ? null : Integer.valueOf(fields[7]))
+                .felonyDates(parseFelonyDates(fields[8]))
+                .build();
+    }
+
+    private List<LocalDate> parseFelonyDates(String field) {
+        if (field.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        List<LocalDate> felonyDates = new ArrayList<>();
+        for (String felonyDate : field.split(FELONY_DATE_SEPARATOR)) {
+            felonyDates.add(LocalDate.parse(felonyDate));
+        }
+        return felonyDates;
+    }
+
+    private String escape(String name) {
+        StringBuilder escaped = new StringBuilder(name.length() + 8);
+
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (c == ESCAPE || c == SEPARATOR_CHAR) {
+                escaped.append(ESCAPE).append(c);
+            } else if (c == '\n') {
+                escaped.append(ESCAPE).append('n');
+            } else if (c == '\r') {
+                escaped.append(ESCAPE).append('r');
+            } else {
+                escaped.append(c);
+            }
+        }
+
+        return escaped.toString();
+    }
+
+    /**
+     * Split the line on the separators that are not escaped, unescaping each field.
+     */
+    private List<String> split(String line) {
+        List<String> fields = new ArrayList<>(FIELD_COUNT);
+        StringBuilder field = new StringBuilder();
+
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == ESCAPE) {
+                if (++i == line.length()) {
+                    throw new IllegalArgumentException("Applicant line cannot end with an escape");
+                }
+                char escaped = line.charAt(i);
+                field.append(escaped == 'n' ? '\n' : escaped == 'r' ? '\r' : escaped);
+            } else if (c == SEPARATOR_CHAR) {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+
+        return fields;
+    }
+}
@@ -0,0 +1,228 @@
+package com.builtbybrendan.collegeApplicantClassifier.applicant;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+
+/**
+ * Remembers the {@link ApplicantStatus} of recently processed applicants by a 64 bit fingerprint of their application,
+ * so an applicant who submits the same application again can be given the same status without being classified or
+ * saved a second time.
+ *
+ * <p>Memory use is fixed by the capacity given at construction.  Fingerprints are kept in a table of four slot
+ * buckets, and when a bucket is full its entries are replaced in turn.  A Bloom filter in front of the table answers
+ * "definitely new" for most new applicants without probing the table, and it is rebuilt from the table whenever it has
+ * taken twice the capacity in insertions, so its false positive rate stays bounded over a whole admission season.
+ *
+ * <p>Names are compared ignoring case and surrounding whitespace, so the fingerprint also takes whether each name is
+ * correctly capitalized, and whether the felonies are recent enough to count, from the {@link ApplicantService} rules.
+ * Two applications that would be classified differently never share a fingerprint, except by a 64 bit hash collision.
+ */
+public class ApplicantDeduplicator {
+
+    private static final int BUCKET_SIZE = 4;
+    private static final int BLOOM_BITS_PER_ENTRY = 10;
+    private static final int BLOOM_HASHES = 7;
+    private static final long EMPTY = 0;
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final int bucketMask;
+    private final long[] fingerprints;
+    private final ApplicantStatus[] applicantStatuses;
+    private final byte[] nextReplacedSlots;
+    private final long[] bloomBits;
+    private final long bloomBitMask;
+    private final int bloomRebuildThreshold;
+    private int bloomInsertions;
+    private long duplicateCount;
+
+    /**
+     * @param capacity the number of applicants to remember, rounded up to a power of two
+     */
+    public ApplicantDeduplicator(int capacity) {
+        if (capacity < BUCKET_SIZE || capacity > 1 << 28) {
+            throw new IllegalArgumentException(String.format("Capacity must be between %s and %s", BUCKET_SIZE, 1 << 28));
+        }
+
+        int bucketCount = Integer.highestOneBit(capacity - 1) * 2 / BUCKET_SIZE;
+        bucketMask = bucketCount - 1;
+        fingerprints = new long[bucketCount * BUCKET_SIZE];
+        applicantStatuses = new ApplicantStatus[bucketCount * BUCKET_SIZE];
+        nextReplacedSlots = new byte[bucketCount];
+
+        bloomRebuildThreshold = fingerprints.length * 2;
+        long bloomBitCount = Long.highestOneBit((long) bloomRebuildThreshold * BLOOM_BITS_PER_ENTRY - 1) * 2;
+        bloomBits = new long[(int) (bloomBitCount / Long.SIZE)];
+        bloomBitMask = bloomBitCount - 1;
+    }
+
+    public int getCapacity() {
+        return fingerprints.length;
+    }
+
+    public synchronized long getDuplicateCount() {
+        return duplicateCount;
+    }
+
+    /**
+     * Find the status given to an earlier application with the same fingerprint.
+     *
+     * @return a copy of the earlier status, or null if no earlier application is remembered
+     */
+    public synchronized ApplicantStatus findPriorStatus(long fingerprint) {
+        fingerprint = nonEmpty(fingerprint);
+
+        if (!mightContain(fingerprint)) {
+            return null;
+        }
+
+        int bucketStart = bucket(fingerprint) * BUCKET_SIZE;
+        for (int slot = bucketStart; slot < bucketStart + BUCKET_SIZE; slot++) {
+            if (fingerprints[slot] == fingerprint) {
+                duplicateCount++;
+                return copy(applicantStatuses[slot]);
+            }
+        }
+
+        return null;
+    }
+
+    public synchronized void record(long fingerprint, ApplicantStatus applicantStatus) {
+        fingerprint = nonEmpty(fingerprint);
+
+        int bucket = bucket(fingerprint);
+        int bucketStart = bucket * BUCKET_SIZE;
+        int slot = -1;
+
+        for (int i = bucketStart; i < bucketStart + BUCKET_SIZE && slot < 0; i++) {
+            if (fingerprints[i] == fingerprint || fingerprints[i] == EMPTY) {
+                slot = i;
+            }
+        }
+        if (slot < 0) {
+            slot = bucketStart + nextReplacedSlots[bucket];
+            nextReplacedSlots[bucket] = (byte) ((nextReplacedSlots[bucket] + 1) % BUCKET_SIZE);
+        }
+
+        fingerprints[slot] = fingerprint;
+        applicantStatuses[slot] = copy(applicantStatus);
+        addToBloomFilter(fingerprint);
+
+        if (++bloomInsertions >= bloomRebuildThreshold) {
+            rebuildBloomFilter();
+        }
+    }
+
+    /**
+     * Fingerprint the application.  The capitalization and felony flags are the results of the {@link ApplicantService}
+     * rules, since they can differ between applications whose normalized names and felony dates are equal.
+     */
+    static long fingerprint(Applicant applicant, boolean firstNameIncorrectlyCapitalized,
+                            boolean lastNameIncorrectlyCapitalized, boolean unacceptableFeloniesExist) {
+        long hash = FNV_OFFSET_BASIS;
+        hash = hashName(hash, applicant.getFirstName());
+        hash = hashName(hash, applicant.getLastName());
+        hash = hash(hash, applicant.getState() != null ? applicant.getState().ordinal() : -1);
+        hash = hash(hash, applicant.getAge());
+        hash = hash(hash, Double.doubleToLongBits(applicant.getGpa()));
+        hash = hash(hash, Double.doubleToLongBits(applicant.getGpaScale()));
+        hash = hash(hash, applicant.getSatScore() != null ? applicant.getSatScore() : -1);
+        hash = hash(hash, applicant.getActScore() != null ? applicant.getActScore() : -1);
+        for (LocalDate felonyDate : applicant.getFelonyDates()) {
+            hash = hash(hash, felonyDate.toEpochDay());
+        }
+        hash = hash(hash, (firstNameIncorrectlyCapitalized ? 1 : 0)
+                | (lastNameIncorrectlyCapitalized ? 2 : 0)
+                | (unacceptableFeloniesExist ? 4 : 0));
+        return mix(hash);
+    }
+
+    private boolean mightContain(long fingerprint) {
+        long h2 = secondBloomHash(fingerprint);
+        for (int i = 0; i < BLOOM_HASHES; i++) {
+            long bit = (fingerprint + i * h2) & bloomBitMask;
+            if ((bloomBits[(int) (bit >>> 6)] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void addToBloomFilter(long fingerprint) {
+        long h2 = secondBloomHash(fingerprint);
+        for (int i = 0; i < BLOOM_HASHES; i++) {
+            long bit = (fingerprint + i * h2) & bloomBitMask;
+            bloomBits[(int) (bit >>> 6)] |= 1L << bit;
+        }
+    }
+
+    private void rebuildBloomFilter() {
+        Arrays.fill(bloomBits, 0);
+        bloomInsertions = 0;
+
+        for (long fingerprint : fingerprints) {
+            if (fingerprint != EMPTY) {
+                addToBloomFilter(fingerprint);
+                bloomInsertions++;
+            }
+        }
+    }
+
+    private int bucket(long fingerprint) {
+        return (int) (fingerprint ^ (fingerprint >>> 32)) & bucketMask;
+    }
+
+    private static ApplicantStatus copy(ApplicantStatus applicantStatus) {
+        return ApplicantStatus.builder()
+                .classification(applicantStatus.getClassification())
+                .reason(applicantStatus.getReason())
+                .build();
+    }
+
+    private static long secondBloomHash(long fingerprint) {
+        return mix(fingerprint) | 1;
+    }
+
+    private static long nonEmpty(long fingerprint) {
+        return fingerprint == EMPTY ? 1 : fingerprint;
+    }
+
+    /**
+     * FNV-1a over the lower case characters of the name, without its leading and trailing whitespace.
+     */
+    private static long hashName(long hash, String name) {
+        int start = 0;
+        int end = name.length();
+        while (start < end && Character.isWhitespace(name.charAt(start))) {
+            start++;
+        }
+        while (end > start && Character.isWhitespace(name.charAt(end - 1))) {
+            end--;
+        }
+
+        for (int i = start; i < end; i++) {
+            hash = (hash ^ Character.toLowerCase(name.charAt(i))) * FNV_PRIME;
+        }
+        return hash(hash, end - start);
+    }
+
+    private static long hash(long hash, long value) {
+        for (int i = 0; i < Long.BYTES; i++) {
+            hash = (hash ^ (value & 0xff)) * FNV_PRIME;
+            value >>>= 8;
+        }
+        return hash;
+    }
+
+    /**
+     * The MurmurHash3 finalizer, so every bit of the fingerprint depends on every bit of the hash.
+     */
+    private static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -0,0 +1,31 @@
+package com.builtbybrendan.collegeApplicantClassifier.applicant;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.LocalDate;
+
+/**
+ * The date dependent values used to classify applicants, computed once for the day they were created on so each
+ * applicant in a batch is evaluated against the same moment without reading the clock again.  Create one with
+ * {@link ApplicantService#newEvaluationContext()}.
+ */
+@Value
+@Builder
+public class ApplicantEvaluationContext {
+
+    /**
+     * The date, in the zone of the service's clock, that applicants are evaluated on.
+     */
+    LocalDate evaluationDate;
+
+    /**
+     * Felonies with an epoch day after this one are recent enough to count against the applicant.
+     */
+    long felonyCutoffEpochDay;
+
+    /**
+     * The epoch millisecond the evaluation date ends at, after which the service stops using this context.
+     */
+    long validUntilEpochMilli;
+}
@@ -0,0 +1,20 @@
+package com.builtbybrendan.collegeApplicantClassifier.applicant;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class ApplicantPage {
+
+    public List<Applicant> applicants;
+    public int pageNumber;
+    public int pageSize;
+    public int totalCount;
+
+    public boolean hasNext() {
+        return (long) (pageNumber + 1) * pageSize < totalCount;
+    }
+}
@@ -0,0 +1,28 @@
+package com.builtbybrendan.collegeApplicantClassifier.applicant;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.Set;
+
+/**
+ * Criteria used to search the applicants held by an {@link IndexedApplicantRepository}.  Every criterion is optional,
+ * a null value means the criterion is not applied.  All of the range criteria are inclusive, and applicants without a
+ * value for a ranged field (e.g. no SAT score) never match a range on that field.
+ */
+@Data
+@Builder
+public class ApplicantQuery {
+
+    public Classification classification;
+    public Set<State> states;
+    public String rejectReason;
+    public Integer minimumAge;
+    public Integer maximumAge;
+    public Integer minimumSatScore;
+    public Integer maximumSatScore;
+    public Integer minimumActScore;
+    public Integer maximumActScore;
+    public Double minimumGpaPercent;
+    public Double maximumGpaPercent;
+}
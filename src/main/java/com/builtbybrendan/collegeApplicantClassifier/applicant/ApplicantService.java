@@ -1,9 +1,8 @@
 package com.builtbybrendan.collegeApplicantClassifier.applicant;
 
 import java.text.DecimalFormat;
+import java.time.Clock;
 import java.time.LocalDate;
-import java.util.List;
-import java.util.stream.Collectors;
 
 public class ApplicantService {
 
@@ -19,8 +18,45 @@ public class ApplicantService {
     private static final int MINIMUM_ACCEPTABLE_SAT_SCORE = 1921;
     private static final int MINIMUM_ACCEPTABLE_ACT_SCORE = 28;
 
+    private static final String UNACCEPTABLE_FELONIES_REASON = String.format(
+            "Applicant cannot have %s or more felonies over the past %s years",
+            ACCEPTABLE_FELONIES + 1, YEARS_OF_ACCEPTABLE_FELONIES);
+    private static final String UNACCEPTABLE_GPA_REASON = String.format(
+            "Applicant cannot have GPA below %s", new DecimalFormat("#%").format(UNACCEPTABLE_GPA_PERCENT));
+    private static final String UNACCEPTABLE_AGE_REASON = "Applicant cannot have a negative age";
+    private static final String INCORRECTLY_CAPITALIZED_FIRST_NAME_REASON =
+            "Applicant must have a first name with the first letter capitalized, the rest lower case";
+    private static final String INCORRECTLY_CAPITALIZED_LAST_NAME_REASON =
+            "Applicant must have a last name with the first letter capitalized, the rest lower case";
+
     private ApplicantValidator applicantValidator = new ApplicantValidator();
     private ApplicantRepository applicantRepository = new DummyApplicantRepositoryImpl();
+    private Clock clock = Clock.systemDefaultZone();
+    private ApplicantDeduplicator applicantDeduplicator;
+    private volatile ApplicantEvaluationContext evaluationContext;
+
+    public ApplicantService() {
+    }
+
+    public ApplicantService(ApplicantRepository applicantRepository) {
+        this.applicantRepository = applicantRepository;
+    }
+
+    public ApplicantService(ApplicantRepository applicantRepository, Clock clock) {
+        this.applicantRepository = applicantRepository;
+        this.clock = clock;
+    }
+
+    /**
+     * @param applicantDeduplicator remembers processed applications, so a resubmitted application is given its earlier
+     *                              status without being classified or saved again
+     */
+    public ApplicantService(ApplicantRepository applicantRepository, Clock clock,
+                            ApplicantDeduplicator applicantDeduplicator) {
+        this.applicantRepository = applicantRepository;
+        this.clock = clock;
+        this.applicantDeduplicator = applicantDeduplicator;
+    }
 
     /**
      * Processes the college {@link Applicant} according to the following rules:
@@ -49,8 +85,65 @@ public class ApplicantService {
      * @return the applicant status, not null
      */
     public ApplicantStatus processApplicant(Applicant applicant) {
+        return processApplicant(applicant, currentEvaluationContext());
+    }
+
+    /**
+     * Processes the college {@link Applicant} as {@link #processApplicant(Applicant)} does, evaluating the date
+     * dependent rules against the given context instead of the current one.  Use the same context for every applicant
+     * in a batch to have the whole batch evaluated on the same date.
+     *
+     * @param applicant         the college applicant, and all of their application information
+     * @param evaluationContext the context from {@link #newEvaluationContext()}
+     * @return the applicant status, not null
+     */
+    public ApplicantStatus processApplicant(Applicant applicant, ApplicantEvaluationContext evaluationContext) {
         applicantValidator.validate(applicant);
 
+        if (applicantDeduplicator == null) {
+            ApplicantStatus applicantStatus = classifyApplicant(applicant, evaluationContext);
+            applicantRepository.save(applicant);
+            return applicantStatus;
+        }
+
+        long fingerprint = ApplicantDeduplicator.fingerprint(applicant,
+                isNameIncorrectlyCapitalized(applicant.getFirstName()),
+                isNameIncorrectlyCapitalized(applicant.getLastName()),
+                doUnacceptableFeloniesExist(applicant, evaluationContext));
+        ApplicantStatus applicantStatus = applicantDeduplicator.findPriorStatus(fingerprint);
+
+        if (applicantStatus != null) {
+            applicant.setApplicantStatus(applicantStatus);
+            return applicantStatus;
+        }
+
+        applicantStatus = classifyApplicant(applicant, evaluationContext);
+        applicantRepository.save(applicant);
+        applicantDeduplicator.record(fingerprint, applicantStatus);
+        return applicantStatus;
+    }
+
+    /**
+     * Classifies the college {@link Applicant} according to the rules described in {@link #processApplicant(Applicant)},
+     * and assigns the resulting status to the applicant.  Unlike {@link #processApplicant(Applicant)} the applicant is
+     * neither validated nor saved, so callers that validate and save in separate steps are responsible for both.
+     *
+     * @param applicant the college applicant, already validated
+     * @return the applicant status, not null
+     */
+    public ApplicantStatus classifyApplicant(Applicant applicant) {
+        return classifyApplicant(applicant, currentEvaluationContext());
+    }
+
+    /**
+     * Classifies the college {@link Applicant} as {@link #classifyApplicant(Applicant)} does, evaluating the date
+     * dependent rules against the given context instead of the current one.
+     *
+     * @param applicant         the college applicant, already validated
+     * @param evaluationContext the context from {@link #newEvaluationContext()}
+     * @return the applicant status, not null
+     */
+    public ApplicantStatus classifyApplicant(Applicant applicant, ApplicantEvaluationContext evaluationContext) {
         ApplicantStatus applicantStatus = ApplicantStatus.builder()
                 .classification(Classification.FURTHER_REVIEW)
                 .build();
@@ -59,7 +152,7 @@ public class ApplicantService {
             applicantStatus.setClassification(Classification.INSTANT_ACCEPT);
         }
 
-        String rejectReason = findInstantRejectReason(applicant);
+        String rejectReason = findInstantRejectReason(applicant, evaluationContext);
 
         if (rejectReason != null) {
             applicantStatus = ApplicantStatus.builder()
@@ -69,38 +162,67 @@ public class ApplicantService {
         }
 
         applicant.setApplicantStatus(applicantStatus);
-        applicantRepository.save(applicant);
         return applicantStatus;
     }
 
-    private String findInstantRejectReason(Applicant applicant) {
+    /**
+     * Creates an evaluation context for the current date of the service's clock.
+     *
+     * @return the evaluation context, not null
+     */
+    public ApplicantEvaluationContext newEvaluationContext() {
+        LocalDate evaluationDate = LocalDate.now(clock);
+
+        return ApplicantEvaluationContext.builder()
+                .evaluationDate(evaluationDate)
+                .felonyCutoffEpochDay(evaluationDate.minusYears(YEARS_OF_ACCEPTABLE_FELONIES).toEpochDay())
+                .validUntilEpochMilli(evaluationDate.plusDays(1).atStartOfDay(clock.getZone()).toInstant().toEpochMilli())
+                .build();
+    }
+
+    /**
+     * The evaluation context for today, reused until the clock passes midnight so the clock's date and zone rules are
+     * only consulted once a day.
+     */
+    private ApplicantEvaluationContext currentEvaluationContext() {
+        ApplicantEvaluationContext context = evaluationContext;
+
+        if (context == null || clock.millis() >= context.getValidUntilEpochMilli()) {
+            context = newEvaluationContext();
+            evaluationContext = context;
+        }
+
+        return context;
+    }
+
+    private String findInstantRejectReason(Applicant applicant, ApplicantEvaluationContext evaluationContext) {
         String reason = null;
 
-        if (doUnacceptableFeloniesExist(applicant)) {
-            reason = String.format("Applicant cannot have %s or more felonies over the past %s years",
-                    ACCEPTABLE_FELONIES + 1, YEARS_OF_ACCEPTABLE_FELONIES);
+        if (doUnacceptableFeloniesExist(applicant, evaluationContext)) {
+            reason = UNACCEPTABLE_FELONIES_REASON;
         } else if (isGpaUnacceptable(applicant)) {
-            DecimalFormat df = new DecimalFormat("#%");
-            reason = String.format("Applicant cannot have GPA below %s", df.format(UNACCEPTABLE_GPA_PERCENT));
+            reason = UNACCEPTABLE_GPA_REASON;
         } else if (isAgeUnacceptable(applicant)) {
-            reason = "Applicant cannot have a negative age";
+            reason = UNACCEPTABLE_AGE_REASON;
         } else if (isNameIncorrectlyCapitalized(applicant.getFirstName())) {
-            reason = "Applicant must have a first name with the first letter capitalized, the rest lower case";
+            reason = INCORRECTLY_CAPITALIZED_FIRST_NAME_REASON;
         } else if (isNameIncorrectlyCapitalized(applicant.getLastName())) {
-            reason = "Applicant must have a last name with the first letter capitalized, the rest lower case";
+            reason = INCORRECTLY_CAPITALIZED_LAST_NAME_REASON;
         }
 
         return reason;
     }
 
-    private boolean doUnacceptableFeloniesExist(Applicant applicant) {
-        LocalDate startOfUnacceptableFelonies = LocalDate.now().minusYears(YEARS_OF_ACCEPTABLE_FELONIES);
+    private boolean doUnacceptableFeloniesExist(Applicant applicant, ApplicantEvaluationContext evaluationContext) {
+        int feloniesWithinRecentHistory = 0;
 
-        List<LocalDate> feloniesWithinRecentHistory = applicant.getFelonyDates().stream()
-                .filter(felonyDate -> felonyDate.isAfter(startOfUnacceptableFelonies))
-                .collect(Collectors.toList());
+        for (LocalDate felonyDate : applicant.getFelonyDates()) {
+            if (felonyDate.toEpochDay() > evaluationContext.getFelonyCutoffEpochDay()) {
+                feloniesWithinRecentHistory++;
+            }
+        }
 
-        return feloniesWithinRecentHistory.size() > ACCEPTABLE_FELONIES;
+        return feloniesWithinRecentHistory > ACCEPTABLE_FELONIES;
     }
 
     private boolean isGpaUnacceptable(Applicant applicant) {
@@ -0,0 +1,273 @@
+package com.builtbybrendan.collegeApplicantClassifier.applicant;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * An {@link ApplicantRepository} that keeps every saved {@link Applicant} in memory along with secondary indexes, so
+ * the admissions staff can count, group and page through the classified applicants without scanning all of them.
+ * Saves are passed on to the delegate repository, and the indexes are updated as part of the same save.  Saves are
+ * made one at a time, so concurrent saves of the same applicant reach the delegate and the indexes in the same order.
+ *
+ * <p>Each saved applicant is given a sequential id.  The {@link Classification}, {@link State} and reject reason
+ * indexes map each value to a {@link BitSet} of ids, and the age, SAT, ACT and GPA percent indexes are sorted maps
+ * from value to a {@link BitSet} of ids, so a query is answered by combining bit sets.  Saving the same applicant
+ * instance again re-indexes it under its existing id.
+ */
+public class IndexedApplicantRepository implements ApplicantRepository {
+
+    private final ApplicantRepository delegate;
+
+    private final List<Applicant> applicants = new ArrayList<>();
+    private final List<IndexedValues> indexedValues = new ArrayList<>();
+    private final Map<Applicant, Integer> ids = new IdentityHashMap<>();
+
+    private final Map<Classification, BitSet> classificationIndex = new EnumMap<>(Classification.class);
+    private final Map<State, BitSet> stateIndex = new EnumMap<>(State.class);
+    private final Map<String, BitSet> rejectReasonIndex = new HashMap<>();
+    private final NavigableMap<Integer, BitSet> ageIndex = new TreeMap<>();
+    private final NavigableMap<Integer, BitSet> satScoreIndex = new TreeMap<>();
+    private final NavigableMap<Integer, BitSet> actScoreIndex = new TreeMap<>();
+    private final NavigableMap<Double, BitSet> gpaPercentIndex = new TreeMap<>();
+
+    public IndexedApplicantRepository(ApplicantRepository delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public synchronized Applicant save(Applicant applicant) {
+        Applicant saved = delegate.save(applicant);
+        index(applicant);
+        return saved;
+    }
+
+    /**
+     * Count the applicants that match the query.
+     *
+     * @param query the search criteria, not null
+     * @return the number of matching applicants
+     */
+    public synchronized int count(ApplicantQuery query) {
+        return match(query).cardinality();
+    }
+
+    /**
+     * Find a page of the applicants that match the query, in the order they were first saved.
+     *
+     * @param query      the search criteria, not null
+     * @param pageNumber the zero based page number
+     * @param pageSize   the maximum number of applicants in the page, greater than zero
+     * @return the page of applicants, not null
+     */
+    public synchronized ApplicantPage find(ApplicantQuery query, int pageNumber, int pageSize) {
+        if (pageNumber < 0) {
+            throw new IllegalArgumentException("Page Number cannot be negative");
+        } else if (pageSize < 1) {
+            throw new IllegalArgumentException("Page Size must be greater than zero");
+        }
+
+        BitSet matches = match(query);
+        long toSkip = (long) pageNumber * pageSize;
+        List<Applicant> page = new ArrayList<>(Math.min(pageSize, matches.cardinality()));
+
+        for (int id = matches.nextSetBit(0); id >= 0 && page.size() < pageSize; id = matches.nextSetBit(id + 1)) {
+            if (toSkip > 0) {
+                toSkip--;
+            } else {
+                page.add(applicants.get(id));
+            }
+        }
+
+        return ApplicantPage.builder()
+                .applicants(page)
+                .pageNumber(pageNumber)
+                .pageSize(pageSize)
+                .totalCount(matches.cardinality())
+                .build();
+    }
+
+    public synchronized Map<Classification, Integer> countByClassification(ApplicantQuery query) {
+        return countBy(match(query), classificationIndex, new EnumMap<>(Classification.class));
+    }
+
+    public synchronized Map<State, Integer> countByState(ApplicantQuery query) {
+        return countBy(match(query), stateIndex, new EnumMap<>(State.class));
+    }
+
+    public synchronized Map<String, Integer> countByRejectReason(ApplicantQuery query) {
+        return countBy(match(query), rejectReasonIndex, new HashMap<>());
+    }
+
+    public synchronized Map<String, Map<State, Integer>> countByRejectReasonAndState(ApplicantQuery query) {
+        BitSet matches = match(query);
+        Map<String, Map<State, Integer>> counts = new HashMap<>();
+
+        for (Map.Entry<String, BitSet> entry : rejectReasonIndex.entrySet()) {
+            BitSet reasonMatches = intersect(matches, entry.getValue());
+            if (!reasonMatches.isEmpty()) {
+                counts.put(entry.getKey(), countBy(reasonMatches, stateIndex, new EnumMap<>(State.class)));
+            }
+        }
+
+        return Collections.unmodifiableMap(counts);
+    }
+
+    private void index(Applicant applicant) {
+        Integer id = ids.get(applicant);
+
+        if (id == null) {
+            id = applicants.size();
+            ids.put(applicant, id);
+            applicants.add(applicant);
+            indexedValues.add(null);
+        } else {
+            unindex(id, indexedValues.get(id));
+        }
+
+        IndexedValues values = new IndexedValues(applicant);
+        indexedValues.set(id, values);
+
+        add(classificationIndex, values.classification, id);
+        add(stateIndex, values.state, id);
+        add(rejectReasonIndex, values.rejectReason, id);
+        add(ageIndex, values.age, id);
+        add(satScoreIndex, values.satScore, id);
+        add(actScoreIndex, values.actScore, id);
+        add(gpaPercentIndex, values.gpaPercent, id);
+    }
+
+    private void unindex(int id, IndexedValues values) {
+        remove(classificationIndex, values.classification, id);
+        remove(stateIndex, values.state, id);
+        remove(rejectReasonIndex, values.rejectReason, id);
+        remove(ageIndex, values.age, id);
+        remove(satScoreIndex, values.satScore, id);
+        remove(actScoreIndex, values.actScore, id);
+        remove(gpaPercentIndex, values.gpaPercent, id);
+    }
+
+    private BitSet match(ApplicantQuery query) {
+        BitSet matches = new BitSet(applicants.size());
+        matches.set(0, applicants.size());
+
+        if (query.getClassification() != null) {
+            matches.and(lookup(classificationIndex, query.getClassification()));
+        }
+        if (query.getStates() != null) {
+            matches.and(lookup(stateIndex, query.getStates()));
+        }
+        if (query.getRejectReason() != null) {
+            matches.and(lookup(rejectReasonIndex, query.getRejectReason()));
+        }
+        if (query.getMinimumAge() != null || query.getMaximumAge() != null) {
+            matches.and(range(ageIndex, query.getMinimumAge(), query.getMaximumAge()));
+        }
+        if (query.getMinimumSatScore() != null || query.getMaximumSatScore() != null) {
+            matches.and(range(satScoreIndex, query.getMinimumSatScore(), query.getMaximumSatScore()));
+        }
+        if (query.getMinimumActScore() != null || query.getMaximumActScore() != null) {
+            matches.and(range(actScoreIndex, query.getMinimumActScore(), query.getMaximumActScore()));
+        }
+        if (query.getMinimumGpaPercent() != null || query.getMaximumGpaPercent() != null) {
+            matches.and(range(gpaPercentIndex, query.getMinimumGpaPercent(), query.getMaximumGpaPercent()));
+        }
+
+        return matches;
+    }
+
+    private static <K> BitSet lookup(Map<K, BitSet> index, K key) {
+        BitSet ids = index.get(key);
+        return ids != null ? ids : new BitSet();
+    }
+
+    private static <K> BitSet lookup(Map<K, BitSet> index, Set<K> keys) {
+        BitSet ids = new BitSet();
+        for (K key : keys) {
+            ids.or(lookup(index, key));
+        }
+        return ids;
+    }
+
+    private static <K extends Comparable<K>> BitSet range(NavigableMap<K, BitSet> index, K minimum, K maximum) {
+        NavigableMap<K, BitSet> values = index;
+        if (minimum != null) {
+            values = values.tailMap(minimum, true);
+        }
+        if (maximum != null) {
+            values = values.headMap(maximum, true);
+        }
+
+        BitSet ids = new BitSet();
+        for (BitSet valueIds : values.values()) {
+            ids.or(valueIds);
+        }
+        return ids;
+    }
+
+    private static BitSet intersect(BitSet first, BitSet second) {
+        BitSet intersection = (BitSet) first.clone();
+        intersection.and(second);
+        return intersection;
+    }
+
+    private static <K> Map<K, Integer> countBy(BitSet matches, Map<K, BitSet> index, Map<K, Integer> counts) {
+        for (Map.Entry<K, BitSet> entry : index.entrySet()) {
+            int count = intersect(matches, entry.getValue()).cardinality();
+            if (count > 0) {
+                counts.put(entry.getKey(), count);
+            }
+        }
+        return Collections.unmodifiableMap(counts);
+    }
+
+    private static <K> void add(Map<K, BitSet> index, K key, int id) {
+        if (key != null) {
+            index.computeIfAbsent(key, k -> new BitSet()).set(id);
+        }
+    }
+
+    private static <K> void remove(Map<K, BitSet> index, K key, int id) {
+        if (key != null) {
+            BitSet ids = index.get(key);
+            ids.clear(id);
+            if (ids.isEmpty()) {
+                index.remove(key);
+            }
+        }
+    }
+
+    /**
+     * The values an applicant was indexed under, kept so the applicant can be removed from the indexes when it is
+     * saved again with different values.
+     */
+    private static class IndexedValues {
+
+        private final Classification classification;
+        private final State state;
+        private final String rejectReason;
+        private final Integer age;
+        private final Integer satScore;
+        private final Integer actScore;
+        private final Double gpaPercent;
+
+        private IndexedValues(Applicant applicant) {
+            ApplicantStatus applicantStatus = applicant.getApplicantStatus();
+            classification = applicantStatus != null ? applicantStatus.getClassification() : null;
+            rejectReason = applicantStatus != null ? applicantStatus.getReason() : null;
+            state = applicant.getState();
+            age = applicant.getAge();
+            satScore = applicant.getSatScore();
+            actScore = applicant.getActScore();
+            gpaPercent = applicant.getGpaScale() > 0 ? applicant.getGpa() / applicant.getGpaScale() : null;
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.builtbybrendan.collegeApplicantClassifier.loadtest;
+
+import com.builtbybrendan.collegeApplicantClassifier.applicant.Classification;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Measurements taken over a soak test, or one reporting interval of it.  The garbage collection time is the total
+ * reported by the collectors, which for stop the world collectors is the time spent paused.  The allocated bytes are
+ * only counted for the thread running the test, and are -1 when the JVM cannot measure them.
+ */
+@Data
+@Builder
+public class SoakTestReport {
+
+    public Duration elapsedTime;
+    public long processedCount;
+    public long invalidCount;
+    public Map<Classification, Long> classificationCounts;
+    public long garbageCollectionCount;
+    public Duration garbageCollectionTime;
+    public long allocatedBytes;
+
+    public double getThroughputPerSecond() {
+        return elapsedTime.isZero() ? 0 : processedCount * 1e9 / elapsedTime.toNanos();
+    }
+
+    public double getAllocatedBytesPerApplicant() {
+        return allocatedBytes < 0 || processedCount == 0 ? -1 : (double) allocatedBytes / processedCount;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%,d applicants in %s (%,.0f/s, %d invalid) %s, %d GCs taking %d ms, %s bytes allocated per applicant",
+                processedCount, elapsedTime, getThroughputPerSecond(), invalidCount, classificationCounts,
+                garbageCollectionCount, garbageCollectionTime.toMillis(),
+                allocatedBytes < 0 ? "unknown" : String.format("%,.0f", getAllocatedBytesPerApplicant()));
+    }
+}
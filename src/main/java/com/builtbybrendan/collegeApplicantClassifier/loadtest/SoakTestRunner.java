@@ -0,0 +1,144 @@
+package com.builtbybrendan.collegeApplicantClassifier.loadtest;
+
+import com.builtbybrendan.collegeApplicantClassifier.applicant.ApplicantService;
+import com.builtbybrendan.collegeApplicantClassifier.applicant.Classification;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Processes synthetic applicants with an {@link ApplicantService} for a sustained period, reporting the throughput,
+ * garbage collection and allocation of each interval and of the whole run.
+ *
+ * <p>Run from the command line with {@code SoakTestRunner [seed] [duration seconds] [report interval seconds]}.  The
+ * applicants are not saved anywhere, so the run measures classification rather than a repository, and they are
+ * classified with the profile's {@link SyntheticApplicantProfile#getReferenceClock()} so every run sees the same mix.
+ */
+public class SoakTestRunner {
+
+    private static final int CLOCK_CHECK_INTERVAL = 1024;
+
+    private final SyntheticApplicantGenerator generator;
+    private final ApplicantService applicantService;
+
+    public SoakTestRunner(SyntheticApplicantGenerator generator, ApplicantService applicantService) {
+        this.generator = generator;
+        this.applicantService = applicantService;
+    }
+
+    public static void main(String[] args) {
+        long seed = args.length > 0 ? Long.parseLong(args[0]) : 1L;
+        Duration duration = Duration.ofSeconds(args.length > 1 ? Long.parseLong(args[1]) : 600);
+        Duration reportInterval = Duration.ofSeconds(args.length > 2 ? Long.parseLong(args[2]) : 10);
+
+        SyntheticApplicantProfile profile = SyntheticApplicantProfile.builder().build();
+        SoakTestRunner soakTestRunner = new SoakTestRunner(new SyntheticApplicantGenerator(seed, profile),
+                new ApplicantService(applicant -> applicant, profile.getReferenceClock()));
+
+        SoakTestReport report = soakTestRunner.run(duration, reportInterval,
+                intervalReport -> System.out.println(String.format("Interval: %s", intervalReport)));
+        System.out.println(String.format("Total: %s", report));
+    }
+
+    /**
+     * Run the soak test on the calling thread.
+     *
+     * @param duration       how long to keep processing applicants
+     * @param reportInterval how often to pass an interval report to the listener
+     * @param intervalReports receives the report of each interval as it ends
+     * @return the report of the whole run
+     */
+    public SoakTestReport run(Duration duration, Duration reportInterval, Consumer<SoakTestReport> intervalReports) {
+        Snapshot start = new Snapshot();
+        Snapshot intervalStart = start;
+        Counts totalCounts = new Counts();
+        Counts intervalCounts = new Counts();
+        long endNanos = start.nanos + duration.toNanos();
+        long nextReportNanos = start.nanos + reportInterval.toNanos();
+
+        for (long i = 1; ; i++) {
+            try {
+                Classification classification = applicantService.processApplicant(generator.next()).getClassification();
+                totalCounts.add(classification);
+                intervalCounts.add(classification);
+            } catch (IllegalArgumentException e) {
+                totalCounts.invalidCount++;
+                intervalCounts.invalidCount++;
+            }
+
+            if (i % CLOCK_CHECK_INTERVAL == 0) {
+                long now = System.nanoTime();
+                if (now >= nextReportNanos || now >= endNanos) {
+                    Snapshot intervalEnd = new Snapshot();
+                    intervalReports.accept(intervalEnd.report(intervalStart, intervalCounts));
+                    intervalStart = intervalEnd;
+                    intervalCounts = new Counts();
+                    nextReportNanos += reportInterval.toNanos();
+                }
+                if (now >= endNanos) {
+                    break;
+                }
+            }
+        }
+
+        return intervalStart.report(start, totalCounts);
+    }
+
+    private static class Counts {
+
+        private final Map<Classification, Long> classificationCounts = new EnumMap<>(Classification.class);
+        private long processedCount;
+        private long invalidCount;
+
+        private void add(Classification classification) {
+            processedCount++;
+            classificationCounts.merge(classification, 1L, Long::sum);
+        }
+    }
+
+    /**
+     * The clock, garbage collector and allocation counters at one moment of the run.
+     */
+    private static class Snapshot {
+
+        private final long nanos = System.nanoTime();
+        private long garbageCollectionCount;
+        private long garbageCollectionMillis;
+        private final long allocatedBytes = currentThreadAllocatedBytes();
+
+        private Snapshot() {
+            for (GarbageCollectorMXBean garbageCollector : ManagementFactory.getGarbageCollectorMXBeans()) {
+                garbageCollectionCount += Math.max(0, garbageCollector.getCollectionCount());
+                garbageCollectionMillis += Math.max(0, garbageCollector.getCollectionTime());
+            }
+        }
+
+        private SoakTestReport report(Snapshot since, Counts counts) {
+            return SoakTestReport.builder()
+                    .elapsedTime(Duration.ofNanos(nanos - since.nanos))
+                    .processedCount(counts.processedCount)
+                    .invalidCount(counts.invalidCount)
+                    .classificationCounts(counts.classificationCounts)
+                    .garbageCollectionCount(garbageCollectionCount - since.garbageCollectionCount)
+                    .garbageCollectionTime(Duration.ofMillis(garbageCollectionMillis - since.garbageCollectionMillis))
+                    .allocatedBytes(allocatedBytes < 0 || since.allocatedBytes < 0 ? -1 : allocatedBytes - since.allocatedBytes)
+                    .build();
+        }
+
+        private static long currentThreadAllocatedBytes() {
+            ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+            if (threadMXBean instanceof com.sun.management.ThreadMXBean) {
+                com.sun.management.ThreadMXBean allocationMXBean = (com.sun.management.ThreadMXBean) threadMXBean;
+                if (allocationMXBean.isThreadAllocatedMemorySupported() && allocationMXBean.isThreadAllocatedMemoryEnabled()) {
+                    return allocationMXBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+                }
+            }
+            return -1;
+        }
+    }
+}
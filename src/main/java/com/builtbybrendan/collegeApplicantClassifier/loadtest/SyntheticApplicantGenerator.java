@@ -0,0 +1,202 @@
+package com.builtbybrendan.collegeApplicantClassifier.loadtest;
+
+import com.builtbybrendan.collegeApplicantClassifier.applicant.Applicant;
+import com.builtbybrendan.collegeApplicantClassifier.applicant.ApplicantCsvFormat;
+import com.builtbybrendan.collegeApplicantClassifier.applicant.ApplicantRepository;
+import com.builtbybrendan.collegeApplicantClassifier.applicant.ApplicantService;
+import com.builtbybrendan.collegeApplicantClassifier.applicant.Classification;
+import com.builtbybrendan.collegeApplicantClassifier.applicant.State;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.stream.Stream;
+
+/**
+ * Generates fake {@link Applicant}s from a {@link SyntheticApplicantProfile}, for load testing without real applicant
+ * data.  The same seed and profile always generate the same applicants in the same order.  A generator is not thread
+ * safe, so concurrent load should use one generator per thread, each with its own seed.
+ */
+public class SyntheticApplicantGenerator {
+
+    private static final String[] FIRST_NAMES = {
+            "Joe", "Ann", "Maria", "James", "Wei", "Priya", "Carlos", "Emily", "Mohammed", "Olivia",
+            "Noah", "Sofia", "Liam", "Aiko", "Mateo", "Grace", "Ethan", "Fatima", "Lucas", "Chloe"
+    };
+    private static final String[] LAST_NAMES = {
+            "Smith", "Garcia", "Nguyen", "Johnson", "Patel", "Kim", "Brown", "Lopez", "Chen", "Williams",
+            "Martinez", "Davis", "Singh", "Wilson", "Hernandez", "Taylor", "Lee", "Anderson", "Clark", "Young"
+    };
+    private static final State[] OUT_OF_STATES = outOfStates();
+    private static final int MINIMUM_SENIOR_AGE = 81;
+    private static final int MAXIMUM_SENIOR_AGE = 95;
+    private static final int FELONY_HISTORY_DAYS = 3650;
+
+    private final SplittableRandom random;
+    private final SyntheticApplicantProfile profile;
+    private final ApplicantCsvFormat applicantCsvFormat = new ApplicantCsvFormat();
+    private double spareGaussian;
+    private boolean hasSpareGaussian;
+
+    public SyntheticApplicantGenerator(long seed, SyntheticApplicantProfile profile) {
+        this.random = new SplittableRandom(seed);
+        this.profile = profile;
+    }
+
+    public Applicant next() {
+        String firstName = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+        String lastName = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+        if (chance(profile.getIncorrectlyCapitalizedNameProbability())) {
+            if (random.nextBoolean()) {
+                firstName = miscapitalize(firstName);
+            } else {
+                lastName = miscapitalize(lastName);
+            }
+        }
+
+        double gpaScale = chance(profile.getFivePointScaleProbability()) ? 5.0 : 4.0;
+        double gpaPercent = clamp(gaussian(profile.getMeanGpaPercent(), profile.getGpaPercentStandardDeviation()), 0, 1);
+
+        Integer satScore = null;
+        Integer actScore = null;
+        if (!chance(profile.getMissingTestScoreProbability())) {
+            if (chance(profile.getSatProbability())) {
+                satScore = (int) clamp(gaussian(profile.getMeanSatScore(), profile.getSatScoreStandardDeviation()), 600, 2400);
+            }
+            if (satScore == null || chance(profile.getActProbability())) {
+                actScore = (int) clamp(gaussian(profile.getMeanActScore(), profile.getActScoreStandardDeviation()), 1, 36);
+            }
+        }
+
+        return Applicant.builder()
+                .firstName(firstName)
+                .lastName(lastName)
+                .state(chance(profile.getInStateProbability())
+                        ? State.CALIFORNIA : OUT_OF_STATES[random.nextInt(OUT_OF_STATES.length)])
+                .age(nextAge())
+                .gpa(Math.round(gpaPercent * gpaScale * 100) / 100.0)
+                .gpaScale(gpaScale)
+                .satScore(satScore)
+                .actScore(actScore)
+                .felonyDates(nextFelonyDates())
+                .build();
+    }
+
+    public Stream<Applicant> stream(long count) {
+        return Stream.generate(this::next).limit(count);
+    }
+
+    /**
+     * Generate applicants and process each one with an {@link ApplicantService} using the profile's
+     * {@link SyntheticApplicantProfile#getReferenceClock()}, so the same seed and profile always give the same counts.
+     * Applicants that fail validation are skipped and left out of the counts.
+     *
+     * @return the number of applicants given each classification
+     */
+    public Map<Classification, Long> feed(ApplicantRepository applicantRepository, long count) {
+        ApplicantService applicantService = new ApplicantService(applicantRepository, profile.getReferenceClock());
+        Map<Classification, Long> classificationCounts = new EnumMap<>(Classification.class);
+
+        for (long i = 0; i < count; i++) {
+            try {
+                Classification classification = applicantService.processApplicant(next()).getClassification();
+                classificationCounts.merge(classification, 1L, Long::sum);
+            } catch (IllegalArgumentException e) {
+                // invalid applicants are generated on purpose when the profile asks for them
+            }
+        }
+
+        return classificationCounts;
+    }
+
+    /**
+     * Generate applicants and write them to the file in the {@link ApplicantCsvFormat}, with a header line.
+     */
+    public void write(Path path, long count) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            writer.write(ApplicantCsvFormat.HEADER);
+            writer.newLine();
+            for (long i = 0; i < count; i++) {
+                writer.write(applicantCsvFormat.format(next()));
+                writer.newLine();
+            }
+        }
+    }
+
+    private int nextAge() {
+        if (chance(profile.getNegativeAgeProbability())) {
+            return -1 - random.nextInt(30);
+        } else if (chance(profile.getSeniorProbability())) {
+            return random.nextInt(MINIMUM_SENIOR_AGE, MAXIMUM_SENIOR_AGE + 1);
+        }
+        return (int) Math.max(0, Math.round(gaussian(profile.getMeanAge(), profile.getAgeStandardDeviation())));
+    }
+
+    private List<LocalDate> nextFelonyDates() {
+        if (!chance(profile.getFelonyProbability())) {
+            return Collections.emptyList();
+        }
+
+        int felonies = 1 + random.nextInt(profile.getMaximumFelonies());
+        List<LocalDate> felonyDates = new ArrayList<>(felonies);
+        for (int i = 0; i < felonies; i++) {
+            felonyDates.add(profile.getReferenceDate().minusDays(random.nextInt(FELONY_HISTORY_DAYS)));
+        }
+        return felonyDates;
+    }
+
+    private String miscapitalize(String name) {
+        return random.nextBoolean() ? name.toLowerCase() : name.toUpperCase();
+    }
+
+    private boolean chance(double probability) {
+        return random.nextDouble() < probability;
+    }
+
+    /**
+     * Marsaglia polar method, since {@link SplittableRandom} has no nextGaussian.
+     */
+    private double gaussian(double mean, double standardDeviation) {
+        if (hasSpareGaussian) {
+            hasSpareGaussian = false;
+            return mean + spareGaussian * standardDeviation;
+        }
+
+        double u;
+        double v;
+        double s;
+        do {
+            u = random.nextDouble() * 2 - 1;
+            v = random.nextDouble() * 2 - 1;
+            s = u * u + v * v;
+        } while (s >= 1 || s == 0);
+
+        double multiplier = Math.sqrt(-2 * Math.log(s) / s);
+        spareGaussian = v * multiplier;
+        hasSpareGaussian = true;
+        return mean + u * multiplier * standardDeviation;
+    }
+
+    private static double clamp(double value, double minimum, double maximum) {
+        return Math.max(minimum, Math.min(maximum, value));
+    }
+
+    private static State[] outOfStates() {
+        List<State> states = new ArrayList<>();
+        for (State state : State.values()) {
+            if (state != State.CALIFORNIA) {
+                states.add(state);
+            }
+        }
+        return states.toArray(new State[0]);
+    }
+}
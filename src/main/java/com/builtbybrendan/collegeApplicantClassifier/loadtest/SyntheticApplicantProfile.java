@@ -0,0 +1,73 @@
+package com.builtbybrendan.collegeApplicantClassifier.loadtest;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+
+/**
+ * The distributions used by the {@link SyntheticApplicantGenerator}.  The defaults give roughly 2% instant accepts,
+ * 11% instant rejects and 87% further reviews, and every applicant passes validation unless
+ * {@link #missingTestScoreProbability} is raised.  Felony dates are spread over the ten years before
+ * {@link #referenceDate}, and applicants should be classified with the {@link #getReferenceClock()} so the felony
+ * cutoff is the same on every run.
+ */
+@Data
+@Builder
+public class SyntheticApplicantProfile {
+
+    public static final LocalDate DEFAULT_REFERENCE_DATE = LocalDate.of(2020, 6, 1);
+
+    @Builder.Default
+    public double inStateProbability = 0.6;
+
+    @Builder.Default
+    public double meanAge = 19;
+    @Builder.Default
+    public double ageStandardDeviation = 2.5;
+    @Builder.Default
+    public double seniorProbability = 0.01;
+    @Builder.Default
+    public double negativeAgeProbability = 0.002;
+
+    @Builder.Default
+    public double fivePointScaleProbability = 0.15;
+    @Builder.Default
+    public double meanGpaPercent = 0.83;
+    @Builder.Default
+    public double gpaPercentStandardDeviation = 0.09;
+
+    @Builder.Default
+    public double satProbability = 0.7;
+    @Builder.Default
+    public double meanSatScore = 1700;
+    @Builder.Default
+    public double satScoreStandardDeviation = 250;
+    @Builder.Default
+    public double actProbability = 0.5;
+    @Builder.Default
+    public double meanActScore = 23;
+    @Builder.Default
+    public double actScoreStandardDeviation = 5;
+    @Builder.Default
+    public double missingTestScoreProbability = 0;
+
+    @Builder.Default
+    public double felonyProbability = 0.03;
+    @Builder.Default
+    public int maximumFelonies = 3;
+    @Builder.Default
+    public LocalDate referenceDate = DEFAULT_REFERENCE_DATE;
+
+    @Builder.Default
+    public double incorrectlyCapitalizedNameProbability = 0.02;
+
+    /**
+     * @return a clock fixed at the start of the {@link #referenceDate}, in UTC
+     */
+    public Clock getReferenceClock() {
+        return Clock.fixed(referenceDate.atStartOfDay(ZoneOffset.UTC).toInstant(), ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,125 @@
+package com.builtbybrendan.collegeApplicantClassifier.pipeline;
+
+import com.builtbybrendan.collegeApplicantClassifier.applicant.Applicant;
+import com.builtbybrendan.collegeApplicantClassifier.applicant.ApplicantRepository;
+import com.builtbybrendan.collegeApplicantClassifier.applicant.ApplicantService;
+import com.builtbybrendan.collegeApplicantClassifier.applicant.ApplicantValidator;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+/**
+ * Streams applicants through validate, classify and persist stages.  Each stage runs on its own threads with a bounded
+ * buffer in front of it, so a slow {@link ApplicantRepository#save(Applicant)} throttles {@link #submit(Applicant)}
+ * instead of queueing applicants without limit.  Applicants that fail validation, or throw in any later stage, are
+ * passed to the configured {@link DeadLetterHandler} and go no further.  A fatal error such as an
+ * {@link OutOfMemoryError} fails the stage it happened in, and every applicant that reaches that stage afterwards is
+ * dead lettered.
+ *
+ * <p>Stages with a parallelism greater than one do not preserve the order the applicants were submitted in.
+ */
+public class ApplicantPipeline implements AutoCloseable {
+
+    public static final String VALIDATE_STAGE = "validate";
+    public static final String CLASSIFY_STAGE = "classify";
+    public static final String PERSIST_STAGE = "persist";
+
+    private final PipelineStage validateStage;
+    private final PipelineStage classifyStage;
+    private final PipelineStage persistStage;
+    private final ReadWriteLock completionLock = new ReentrantReadWriteLock();
+    private boolean completed;
+
+    public ApplicantPipeline(ApplicantValidator applicantValidator, ApplicantService applicantService,
+                             ApplicantRepository applicantRepository, ApplicantPipelineConfig config) {
+        persistStage = new PipelineStage(PERSIST_STAGE, config.getPersistParallelism(), config.getBufferSize(),
+                applicantRepository::save, null, config.getDeadLetterHandler());
+        classifyStage = new PipelineStage(CLASSIFY_STAGE, config.getClassifyParallelism(), config.getBufferSize(),
+                applicantService::classifyApplicant, persistStage, config.getDeadLetterHandler());
+        validateStage = new PipelineStage(VALIDATE_STAGE, config.getValidateParallelism(), config.getBufferSize(),
+                applicantValidator::validate, classifyStage, config.getDeadLetterHandler());
+
+        persistStage.start();
+        classifyStage.start();
+        validateStage.start();
+    }
+
+    /**
+     * Submit the applicant to the pipeline, blocking while the validate stage's buffer is full.  Submissions hold off
+     * {@link #complete()} until they are in the buffer, so no applicant can land behind the end of the stream.
+     *
+     * @param applicant the college applicant, and all of their application information
+     * @throws InterruptedException if interrupted while waiting for room in the buffer
+     */
+    public void submit(Applicant applicant) throws InterruptedException {
+        completionLock.readLock().lockInterruptibly();
+        try {
+            if (completed) {
+                throw new IllegalStateException("Cannot submit an applicant to a completed pipeline");
+            }
+            validateStage.accept(applicant);
+        } finally {
+            completionLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Signal that no more applicants will be submitted.  Waits for submissions in progress to reach the buffer, and
+     * applicants already submitted continue through the pipeline.
+     */
+    public void complete() throws InterruptedException {
+        completionLock.writeLock().lockInterruptibly();
+        try {
+            if (!completed) {
+                completed = true;
+                validateStage.complete();
+            }
+        } finally {
+            completionLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Wait for every submitted applicant to leave the pipeline, after {@link #complete()} has been called.
+     *
+     * @return true if the pipeline finished before the timeout elapsed
+     * @throws IllegalStateException if a stage failed with a fatal error
+     */
+    public boolean awaitCompletion(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + Math.min(unit.toNanos(timeout), Long.MAX_VALUE / 2);
+
+        for (PipelineStage stage : stages()) {
+            if (!stage.awaitFinished(deadline - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+                return false;
+            }
+        }
+        for (PipelineStage stage : stages()) {
+            if (stage.getFailure() != null) {
+                throw new IllegalStateException(String.format("The %s stage failed", stage.getName()),
+                        stage.getFailure());
+            }
+        }
+
+        return true;
+    }
+
+    public List<PipelineStageStats> getStageStats() {
+        return stages().stream()
+                .map(PipelineStage::stats)
+                .collect(Collectors.toList());
+    }
+
+    private List<PipelineStage> stages() {
+        return Arrays.asList(validateStage, classifyStage, persistStage);
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        complete();
+        awaitCompletion(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+    }
+}
@@ -0,0 +1,22 @@
+package com.builtbybrendan.collegeApplicantClassifier.pipeline;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class ApplicantPipelineConfig {
+
+    @Builder.Default
+    public int validateParallelism = 1;
+    @Builder.Default
+    public int classifyParallelism = Runtime.getRuntime().availableProcessors();
+    @Builder.Default
+    public int persistParallelism = 1;
+    @Builder.Default
+    public int bufferSize = 1024;
+    @Builder.Default
+    public DeadLetterHandler deadLetterHandler = (applicant, stageName, throwable) ->
+            System.out.println(String.format("Dead lettered the applicant %s in the %s stage: %s",
+                    applicant.toString(), stageName, throwable.getMessage()));
+}
@@ -0,0 +1,17 @@
+package com.builtbybrendan.collegeApplicantClassifier.pipeline;
+
+import com.builtbybrendan.collegeApplicantClassifier.applicant.Applicant;
+
+@FunctionalInterface
+public interface DeadLetterHandler {
+
+    /**
+     * Receive an {@link Applicant} that could not make it through the {@link ApplicantPipeline}.  Called from the
+     * thread of the failing stage, so implementations should be quick and thread safe.
+     *
+     * @param applicant the applicant that failed
+     * @param stageName the name of the stage that failed the applicant
+     * @param throwable the reason the applicant failed, e.g. the {@link IllegalArgumentException} from validation
+     */
+    void handle(Applicant applicant, String stageName, Throwable throwable);
+}
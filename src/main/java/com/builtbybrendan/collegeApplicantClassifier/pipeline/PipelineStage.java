@@ -0,0 +1,241 @@
+package com.builtbybrendan.collegeApplicantClassifier.pipeline;
+
+import com.builtbybrendan.collegeApplicantClassifier.applicant.Applicant;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * One step of the {@link ApplicantPipeline}.  A fixed number of workers take applicants from a bounded buffer, apply
+ * the stage's action and put the applicant into the downstream stage's buffer.  Putting into a full buffer blocks the
+ * worker, so a slow stage throttles every stage before it instead of letting applicants pile up in memory.
+ *
+ * <p>A worker that hits a fatal error, such as an {@link OutOfMemoryError}, fails the whole stage rather than carrying
+ * on.  The workers of a failed stage stop, and applicants still in its buffer or handed to it later are dead lettered
+ * with the fatal error, so the upstream stages are never left blocked on a buffer nobody is taking from.
+ */
+class PipelineStage {
+
+    private static final Applicant END_OF_STREAM = Applicant.builder().build();
+    private static final long POLL_INTERVAL_MILLIS = 100;
+
+    private final String name;
+    private final int parallelism;
+    private final BlockingQueue<Applicant> buffer;
+    private final Consumer<Applicant> action;
+    private final PipelineStage downstream;
+    private final DeadLetterHandler deadLetterHandler;
+
+    private final AtomicInteger runningWorkers;
+    private final CountDownLatch finished = new CountDownLatch(1);
+    private final LongAdder processedCount = new LongAdder();
+    private final LongAdder deadLetterCount = new LongAdder();
+    private final LongAdder deadLetterHandlerFailureCount = new LongAdder();
+    private final LongAdder busyNanos = new LongAdder();
+    private volatile long startNanos;
+    private volatile long finishNanos;
+    private volatile Throwable failure;
+
+    PipelineStage(String name, int parallelism, int bufferSize, Consumer<Applicant> action,
+                  PipelineStage downstream, DeadLetterHandler deadLetterHandler) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException(String.format("Parallelism of the %s stage must be greater than zero", name));
+        } else if (bufferSize < 1) {
+            throw new IllegalArgumentException("Buffer Size must be greater than zero");
+        }
+
+        this.name = name;
+        this.parallelism = parallelism;
+        this.buffer = new ArrayBlockingQueue<>(bufferSize);
+        this.action = action;
+        this.downstream = downstream;
+        this.deadLetterHandler = deadLetterHandler;
+        this.runningWorkers = new AtomicInteger(parallelism);
+    }
+
+    void start() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "applicant-pipeline-" + name + "-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        startNanos = System.nanoTime();
+        for (int i = 0; i < parallelism; i++) {
+            executor.execute(this::work);
+        }
+        executor.shutdown();
+    }
+
+    /**
+     * Put the applicant into the buffer, blocking while it is full.  An applicant handed to a failed stage is dead
+     * lettered instead.
+     */
+    void accept(Applicant applicant) throws InterruptedException {
+        if (!put(applicant)) {
+            deadLetter(applicant, failure);
+        }
+    }
+
+    /**
+     * Signal that no more applicants will be accepted.  Each worker stops once it reaches the end of the buffer, and
+     * the last worker to stop completes the downstream stage.
+     */
+    void complete() throws InterruptedException {
+        for (int i = 0; i < parallelism; i++) {
+            if (!put(END_OF_STREAM)) {
+                return;
+            }
+        }
+    }
+
+    boolean awaitFinished(long timeout, TimeUnit unit) throws InterruptedException {
+        return finished.await(timeout, unit);
+    }
+
+    /**
+     * @return the fatal error that failed the stage, or null if it has not failed
+     */
+    Throwable getFailure() {
+        return failure;
+    }
+
+    String getName() {
+        return name;
+    }
+
+    PipelineStageStats stats() {
+        long endNanos = finished.getCount() == 0 ? finishNanos : System.nanoTime();
+
+        return PipelineStageStats.builder()
+                .stageName(name)
+                .parallelism(parallelism)
+                .processedCount(processedCount.sum())
+                .deadLetterCount(deadLetterCount.sum())
+                .deadLetterHandlerFailureCount(deadLetterHandlerFailureCount.sum())
+                .bufferedCount(buffer.size())
+                .busyTime(Duration.ofNanos(busyNanos.sum()))
+                .elapsedTime(Duration.ofNanos(startNanos == 0 ? 0 : endNanos - startNanos))
+                .build();
+    }
+
+    private void work() {
+        try {
+            Applicant applicant;
+            while ((applicant = take()) != END_OF_STREAM) {
+                process(applicant);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException | Error e) {
+            fail(e);
+            throw e;
+        } finally {
+            if (runningWorkers.decrementAndGet() == 0) {
+                finish();
+            }
+        }
+    }
+
+    private void process(Applicant applicant) throws InterruptedException {
+        long start = System.nanoTime();
+
+        try {
+            action.accept(applicant);
+        } catch (RuntimeException | AssertionError | LinkageError e) {
+            busyNanos.add(System.nanoTime() - start);
+            deadLetter(applicant, e);
+            return;
+        }
+
+        busyNanos.add(System.nanoTime() - start);
+        processedCount.increment();
+
+        if (downstream != null) {
+            downstream.accept(applicant);
+        }
+    }
+
+    /**
+     * Pass the failed applicant to the dead letter handler.  A handler that throws is counted rather than allowed to
+     * stop the worker, unless it throws a fatal error.
+     */
+    private void deadLetter(Applicant applicant, Throwable throwable) {
+        deadLetterCount.increment();
+
+        try {
+            deadLetterHandler.handle(applicant, name, throwable);
+        } catch (RuntimeException | AssertionError | LinkageError e) {
+            deadLetterHandlerFailureCount.increment();
+        }
+    }
+
+    /**
+     * Take the next applicant from the buffer, or the end of the stream once the stage has failed.
+     */
+    private Applicant take() throws InterruptedException {
+        while (failure == null) {
+            Applicant applicant = buffer.poll(POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+            if (applicant != null) {
+                return applicant;
+            }
+        }
+        return END_OF_STREAM;
+    }
+
+    /**
+     * Put the applicant into the buffer, blocking while it is full.
+     *
+     * @return false if the stage failed before the applicant could be put into the buffer
+     */
+    private boolean put(Applicant applicant) throws InterruptedException {
+        while (failure == null) {
+            if (buffer.offer(applicant, POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS)) {
+                if (failure != null) {
+                    drain();
+                }
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void fail(Throwable throwable) {
+        if (failure == null) {
+            failure = throwable;
+        }
+        drain();
+    }
+
+    private void drain() {
+        Applicant applicant;
+        while ((applicant = buffer.poll()) != null) {
+            if (applicant != END_OF_STREAM) {
+                deadLetter(applicant, failure);
+            }
+        }
+    }
+
+    private void finish() {
+        finishNanos = System.nanoTime();
+
+        try {
+            if (downstream != null) {
+                downstream.complete();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            finished.countDown();
+        }
+    }
+}
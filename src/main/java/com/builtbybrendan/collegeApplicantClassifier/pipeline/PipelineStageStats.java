@@ -0,0 +1,28 @@
+package com.builtbybrendan.collegeApplicantClassifier.pipeline;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.Duration;
+
+@Data
+@Builder
+public class PipelineStageStats {
+
+    public String stageName;
+    public int parallelism;
+    public long processedCount;
+    public long deadLetterCount;
+    public long deadLetterHandlerFailureCount;
+    public int bufferedCount;
+    public Duration busyTime;
+    public Duration elapsedTime;
+
+    public double getThroughputPerSecond() {
+        return elapsedTime.isZero() ? 0 : (processedCount + deadLetterCount) * 1e9 / elapsedTime.toNanos();
+    }
+
+    public double getUtilization() {
+        return elapsedTime.isZero() ? 0 : (double) busyTime.toNanos() / (elapsedTime.toNanos() * parallelism);
+    }
+}
@@ -0,0 +1,17 @@
+package com.builtbybrendan.collegeApplicantClassifier.tiered;
+
+import com.builtbybrendan.collegeApplicantClassifier.applicant.Applicant;
+
+@FunctionalInterface
+public interface FollowUpFailureHandler {
+
+    /**
+     * Receive an {@link Applicant} whose follow-up work failed in the {@link TieredApplicantService}, after its status
+     * was already returned.  Called from the follow-up thread, so implementations should be quick and thread safe.
+     *
+     * @param applicant    the applicant whose follow-up work failed
+     * @param followUpName the name of the follow-up work that failed, e.g. {@link TieredApplicantService#SAVE_FOLLOW_UP}
+     * @param throwable    the reason the follow-up work failed
+     */
+    void handle(Applicant applicant, String followUpName, Throwable throwable);
+}
@@ -0,0 +1,239 @@
+package com.builtbybrendan.collegeApplicantClassifier.tiered;
+
+import com.builtbybrendan.collegeApplicantClassifier.applicant.Applicant;
+import com.builtbybrendan.collegeApplicantClassifier.applicant.ApplicantCsvFormat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+
+/**
+ * A work queue of applicants flagged for further review, kept in a local directory so it survives restarts.  Each
+ * applicant is appended to a journal file in the {@link ApplicantCsvFormat} and forced to disk before
+ * {@link #add(Applicant)} returns.  The position of the next applicant for the admissions staff is kept in a separate
+ * offset file.  The journal is emptied once every applicant in it has been taken, and compacted down to the applicants
+ * still waiting once the taken part passes the compaction threshold and makes up at least half of it.
+ *
+ * <p>The offset is always persisted before the journal is shortened, so a crash part way through shortening it hands
+ * out the applicants already taken again rather than losing any.
+ *
+ * <p>A journal left with a partly written line by a crash has that line dropped when the queue is opened again.  A
+ * complete line that cannot be read back as an applicant is moved to a separate unreadable file by {@link #poll()}, so
+ * the applicants behind it can still be taken.
+ */
+public class FurtherReviewQueue implements Closeable {
+
+    private static final String JOURNAL_FILE = "further-review.csv";
+    private static final String OFFSET_FILE = "further-review.offset";
+    private static final String UNREADABLE_FILE = "further-review.unreadable";
+    private static final byte NEW_LINE = '\n';
+    private static final int READ_BUFFER_SIZE = 256;
+    private static final long DEFAULT_COMPACTION_THRESHOLD_BYTES = 16 * 1024 * 1024;
+
+    private final ApplicantCsvFormat applicantCsvFormat = new ApplicantCsvFormat();
+    private final Path journalPath;
+    private final Path offsetPath;
+    private final Path unreadablePath;
+    private final long compactionThresholdBytes;
+    private FileChannel journal;
+    private long readPosition;
+    private long size;
+
+    public FurtherReviewQueue(Path directory) throws IOException {
+        this(directory, DEFAULT_COMPACTION_THRESHOLD_BYTES);
+    }
+
+    public FurtherReviewQueue(Path directory, long compactionThresholdBytes) throws IOException {
+        if (compactionThresholdBytes < 1) {
+            throw new IllegalArgumentException("Compaction Threshold must be greater than zero");
+        }
+
+        Files.createDirectories(directory);
+        this.compactionThresholdBytes = compactionThresholdBytes;
+        journalPath = directory.resolve(JOURNAL_FILE);
+        offsetPath = directory.resolve(OFFSET_FILE);
+        unreadablePath = directory.resolve(UNREADABLE_FILE);
+        journal = FileChannel.open(journalPath,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+        if (Files.exists(offsetPath)) {
+            readPosition = Long.parseLong(new String(Files.readAllBytes(offsetPath), StandardCharsets.UTF_8).trim());
+        }
+        recover();
+    }
+
+    /**
+     * Append the applicant to the queue, returning once it is on disk.
+     */
+    public synchronized void add(Applicant applicant) throws IOException {
+        ByteBuffer line = ByteBuffer.wrap((applicantCsvFormat.format(applicant) + "\n").getBytes(StandardCharsets.UTF_8));
+        long position = journal.size();
+        while (line.hasRemaining()) {
+            position += journal.write(line, position);
+        }
+        journal.force(false);
+        size++;
+    }
+
+    /**
+     * Take the next applicant from the queue, moving any unreadable lines in front of it aside.  The journal is
+     * compacted first when it is due.
+     *
+     * @return the applicant, or null if the queue is empty
+     */
+    public synchronized Applicant poll() throws IOException {
+        byte[] line;
+
+        if (readPosition >= compactionThresholdBytes && readPosition >= journal.size() - readPosition) {
+            compact();
+        }
+
+        while ((line = readLine(readPosition)) != null) {
+            Applicant applicant = null;
+            try {
+                applicant = applicantCsvFormat.parse(new String(line, StandardCharsets.UTF_8));
+            } catch (IllegalArgumentException | DateTimeParseException e) {
+                Files.write(unreadablePath, Arrays.asList(new String(line, StandardCharsets.UTF_8)),
+                        StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND,
+                        StandardOpenOption.WRITE, StandardOpenOption.SYNC);
+            }
+
+            advancePast(line);
+            size--;
+
+            if (applicant != null) {
+                return applicant;
+            }
+        }
+
+        return null;
+    }
+
+    public synchronized long size() {
+        return size;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        journal.close();
+    }
+
+    private void advancePast(byte[] line) throws IOException {
+        long nextPosition = readPosition + line.length + 1;
+
+        if (nextPosition == journal.size()) {
+            writeReadPosition(0);
+            try {
+                journal.truncate(0);
+                journal.force(false);
+            } catch (IOException e) {
+                size = countLines(0);
+                throw e;
+            }
+        } else {
+            writeReadPosition(nextPosition);
+        }
+    }
+
+    /**
+     * Replace the journal with a copy of the lines after the read position.  The read position is reset first, so a
+     * failure before the copy replaces the journal leaves the taken lines to be handed out again.
+     */
+    private void compact() throws IOException {
+        Path temporaryPath = journalPath.resolveSibling(JOURNAL_FILE + ".tmp");
+        try (FileChannel compacted = FileChannel.open(temporaryPath,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            long position = readPosition;
+            long end = journal.size();
+            while (position < end) {
+                position += journal.transferTo(position, end - position, compacted);
+            }
+            compacted.force(false);
+        }
+
+        writeReadPosition(0);
+        try {
+            Files.move(temporaryPath, journalPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            size = countLines(0);
+            throw e;
+        }
+
+        FileChannel original = journal;
+        journal = FileChannel.open(journalPath, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        original.close();
+    }
+
+    /**
+     * Drop any partly written last line, and count the applicants still waiting after the read position.  A read
+     * position past the end of the journal cannot be trusted to fall on a line, so the whole journal is handed out again.
+     */
+    private void recover() throws IOException {
+        if (readPosition > journal.size()) {
+            writeReadPosition(0);
+        }
+
+        long completePosition = readPosition;
+        byte[] line;
+        while ((line = readLine(completePosition)) != null) {
+            completePosition += line.length + 1;
+            size++;
+        }
+
+        if (completePosition < journal.size()) {
+            journal.truncate(completePosition);
+            journal.force(false);
+        }
+        if (readPosition > completePosition) {
+            writeReadPosition(completePosition);
+        }
+    }
+
+    private long countLines(long position) throws IOException {
+        long lines = 0;
+        byte[] line;
+        while ((line = readLine(position)) != null) {
+            position += line.length + 1;
+            lines++;
+        }
+        return lines;
+    }
+
+    private byte[] readLine(long position) throws IOException {
+        ByteArrayOutputStream line = new ByteArrayOutputStream();
+        ByteBuffer buffer = ByteBuffer.allocate(READ_BUFFER_SIZE);
+
+        while (journal.read(buffer, position) > 0) {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                byte b = buffer.get();
+                if (b == NEW_LINE) {
+                    return line.toByteArray();
+                }
+                line.write(b);
+            }
+            position += buffer.limit();
+            buffer.clear();
+        }
+
+        return null;
+    }
+
+    private void writeReadPosition(long position) throws IOException {
+        Path temporaryPath = offsetPath.resolveSibling(OFFSET_FILE + ".tmp");
+        Files.write(temporaryPath, Long.toString(position).getBytes(StandardCharsets.UTF_8),
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE,
+                StandardOpenOption.SYNC);
+        Files.move(temporaryPath, offsetPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        readPosition = position;
+    }
+}
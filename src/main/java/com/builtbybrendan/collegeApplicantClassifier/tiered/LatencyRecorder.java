@@ -0,0 +1,73 @@
+package com.builtbybrendan.collegeApplicantClassifier.tiered;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Records latencies into power of two buckets, so recording is lock free and allocation free and percentiles are
+ * accurate to within a factor of two.  Latencies above the service level objective, if there is one, are counted as
+ * breaches.
+ */
+class LatencyRecorder {
+
+    private final Duration serviceLevelObjective;
+    private final long serviceLevelObjectiveNanos;
+    private final AtomicLongArray buckets = new AtomicLongArray(Long.SIZE);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAccumulator maximumNanos = new LongAccumulator(Math::max, 0);
+    private final LongAdder breachCount = new LongAdder();
+
+    LatencyRecorder(Duration serviceLevelObjective) {
+        this.serviceLevelObjective = serviceLevelObjective;
+        this.serviceLevelObjectiveNanos = serviceLevelObjective != null ? serviceLevelObjective.toNanos() : Long.MAX_VALUE;
+    }
+
+    void record(long nanos) {
+        buckets.incrementAndGet(Long.SIZE - 1 - Long.numberOfLeadingZeros(Math.max(nanos, 1)));
+        count.increment();
+        totalNanos.add(nanos);
+        maximumNanos.accumulate(nanos);
+        if (nanos > serviceLevelObjectiveNanos) {
+            breachCount.increment();
+        }
+    }
+
+    LatencyStats stats() {
+        long recorded = count.sum();
+
+        return LatencyStats.builder()
+                .count(recorded)
+                .mean(Duration.ofNanos(recorded == 0 ? 0 : totalNanos.sum() / recorded))
+                .median(percentile(0.5))
+                .ninetyNinthPercentile(percentile(0.99))
+                .maximum(Duration.ofNanos(maximumNanos.get()))
+                .serviceLevelObjective(serviceLevelObjective)
+                .serviceLevelObjectiveBreachCount(breachCount.sum())
+                .build();
+    }
+
+    /**
+     * The upper bound of the bucket holding the percentile.
+     */
+    private Duration percentile(double percentile) {
+        long[] snapshot = new long[Long.SIZE];
+        long total = 0;
+        for (int i = 0; i < snapshot.length; i++) {
+            snapshot[i] = buckets.get(i);
+            total += snapshot[i];
+        }
+
+        long rank = (long) Math.ceil(percentile * total);
+        long seen = 0;
+        for (int i = 0; i < snapshot.length; i++) {
+            seen += snapshot[i];
+            if (seen >= rank && seen > 0) {
+                return Duration.ofNanos((1L << (i + 1)) - 1);
+            }
+        }
+        return Duration.ZERO;
+    }
+}
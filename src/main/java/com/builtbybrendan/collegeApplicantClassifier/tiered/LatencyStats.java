@@ -0,0 +1,23 @@
+package com.builtbybrendan.collegeApplicantClassifier.tiered;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.Duration;
+
+/**
+ * The latency of the decisions made for one classification.  The median and 99th percentile are upper bounds,
+ * accurate to within a factor of two.  The service level objective is null when none is tracked.
+ */
+@Data
+@Builder
+public class LatencyStats {
+
+    public long count;
+    public Duration mean;
+    public Duration median;
+    public Duration ninetyNinthPercentile;
+    public Duration maximum;
+    public Duration serviceLevelObjective;
+    public long serviceLevelObjectiveBreachCount;
+}
@@ -0,0 +1,172 @@
+package com.builtbybrendan.collegeApplicantClassifier.tiered;
+
+import com.builtbybrendan.collegeApplicantClassifier.applicant.Applicant;
+import com.builtbybrendan.collegeApplicantClassifier.applicant.ApplicantRepository;
+import com.builtbybrendan.collegeApplicantClassifier.applicant.ApplicantService;
+import com.builtbybrendan.collegeApplicantClassifier.applicant.ApplicantStatus;
+import com.builtbybrendan.collegeApplicantClassifier.applicant.ApplicantValidator;
+import com.builtbybrendan.collegeApplicantClassifier.applicant.Classification;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Processes applicants for the online path, returning the {@link ApplicantStatus} as soon as the applicant has been
+ * validated and classified.  Applicants flagged for further review are added to the durable {@link FurtherReviewQueue}
+ * before their status is returned, since they are off the latency objective path.  Saving the applicant is left to low
+ * priority follow-up threads, and a save that fails is passed to the configured {@link FollowUpFailureHandler}.  When the
+ * follow-up work falls so far behind that its bounded queue is full, the caller saves the applicant itself rather than
+ * letting the work pile up.
+ *
+ * <p>The time taken to return each decision is recorded separately for each classification, and the instant accept and
+ * instant reject decisions are tracked against a latency objective.
+ */
+public class TieredApplicantService {
+
+    public static final String SAVE_FOLLOW_UP = "save";
+
+    private static final RejectedExecutionHandler RUN_ON_CALLER_WHILE_RUNNING = (task, executor) -> {
+        if (executor.isShutdown()) {
+            throw new RejectedExecutionException("Cannot run follow-up work after shutdown");
+        }
+        task.run();
+    };
+
+    private final ApplicantValidator applicantValidator;
+    private final ApplicantService applicantService;
+    private final ApplicantRepository applicantRepository;
+    private final FurtherReviewQueue furtherReviewQueue;
+    private final FollowUpFailureHandler followUpFailureHandler;
+    private final ThreadPoolExecutor followUpExecutor;
+    private final Map<Classification, LatencyRecorder> latencyRecorders = new EnumMap<>(Classification.class);
+    private final LongAdder followUpFailureCount = new LongAdder();
+    private final LongAdder followUpFailureHandlerFailureCount = new LongAdder();
+    private final ReadWriteLock shutdownLock = new ReentrantReadWriteLock();
+    private boolean shutdown;
+
+    public TieredApplicantService(ApplicantValidator applicantValidator, ApplicantService applicantService,
+                                  ApplicantRepository applicantRepository, FurtherReviewQueue furtherReviewQueue,
+                                  TieredApplicantServiceConfig config) {
+        this.applicantValidator = applicantValidator;
+        this.applicantService = applicantService;
+        this.applicantRepository = applicantRepository;
+        this.furtherReviewQueue = furtherReviewQueue;
+        this.followUpFailureHandler = config.getFollowUpFailureHandler();
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        followUpExecutor = new ThreadPoolExecutor(config.getFollowUpThreads(), config.getFollowUpThreads(),
+                0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(config.getFollowUpQueueSize()), runnable -> {
+            Thread thread = new Thread(runnable, "applicant-follow-up-" + threadNumber.incrementAndGet());
+            thread.setPriority(Thread.MIN_PRIORITY);
+            thread.setDaemon(true);
+            return thread;
+        }, RUN_ON_CALLER_WHILE_RUNNING);
+
+        latencyRecorders.put(Classification.INSTANT_ACCEPT, new LatencyRecorder(config.getInstantDecisionLatencyObjective()));
+        latencyRecorders.put(Classification.INSTANT_REJECT, new LatencyRecorder(config.getInstantDecisionLatencyObjective()));
+        latencyRecorders.put(Classification.FURTHER_REVIEW, new LatencyRecorder(null));
+    }
+
+    /**
+     * Validate and classify the college {@link Applicant}, following the rules of
+     * {@link ApplicantService#processApplicant(Applicant)}, and schedule the follow-up work.  An invalid applicant
+     * throws an {@link IllegalArgumentException} and has no follow-up work.  Calls in progress hold off
+     * {@link #shutdown(long, TimeUnit)} until their follow-up work is scheduled, so no applicant is queued for further
+     * review without also being saved.
+     *
+     * @param applicant the college applicant, and all of their application information
+     * @return the applicant status, not null
+     * @throws IllegalStateException if the service has been shut down
+     * @throws UncheckedIOException  if an applicant flagged for further review could not be added to the queue
+     */
+    public ApplicantStatus processApplicant(Applicant applicant) {
+        long start = System.nanoTime();
+        ApplicantStatus applicantStatus;
+
+        shutdownLock.readLock().lock();
+        try {
+            if (shutdown) {
+                throw new IllegalStateException("Cannot process an applicant after shutdown");
+            }
+
+            applicantValidator.validate(applicant);
+            applicantStatus = applicantService.classifyApplicant(applicant);
+
+            if (applicantStatus.getClassification() == Classification.FURTHER_REVIEW) {
+                try {
+                    furtherReviewQueue.add(applicant);
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Could not add the applicant to the further review queue", e);
+                }
+            }
+            followUpExecutor.execute(() -> save(applicant));
+        } finally {
+            shutdownLock.readLock().unlock();
+        }
+
+        latencyRecorders.get(applicantStatus.getClassification()).record(System.nanoTime() - start);
+        return applicantStatus;
+    }
+
+    public LatencyStats getLatencyStats(Classification classification) {
+        return latencyRecorders.get(classification).stats();
+    }
+
+    public int getPendingFollowUpCount() {
+        return followUpExecutor.getQueue().size() + followUpExecutor.getActiveCount();
+    }
+
+    public long getFollowUpFailureCount() {
+        return followUpFailureCount.sum();
+    }
+
+    public long getFollowUpFailureHandlerFailureCount() {
+        return followUpFailureHandlerFailureCount.sum();
+    }
+
+    /**
+     * Stop accepting applicants and wait for the follow-up work already scheduled to finish.  Waits for calls to
+     * {@link #processApplicant(Applicant)} in progress to schedule their follow-up work first.
+     *
+     * @return true if the follow-up work finished before the timeout elapsed
+     */
+    public boolean shutdown(long timeout, TimeUnit unit) throws InterruptedException {
+        shutdownLock.writeLock().lockInterruptibly();
+        try {
+            shutdown = true;
+            followUpExecutor.shutdown();
+        } finally {
+            shutdownLock.writeLock().unlock();
+        }
+
+        return followUpExecutor.awaitTermination(timeout, unit);
+    }
+
+    /**
+     * Save the applicant, passing a failed save to the failure handler.  A handler that throws is counted rather than
+     * allowed to stop the follow-up thread, unless it throws a fatal error.
+     */
+    private void save(Applicant applicant) {
+        try {
+            applicantRepository.save(applicant);
+        } catch (RuntimeException | AssertionError | LinkageError e) {
+            followUpFailureCount.increment();
+            try {
+                followUpFailureHandler.handle(applicant, SAVE_FOLLOW_UP, e);
+            } catch (RuntimeException | AssertionError | LinkageError handlerFailure) {
+                followUpFailureHandlerFailureCount.increment();
+            }
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.builtbybrendan.collegeApplicantClassifier.tiered;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.Duration;
+
+@Data
+@Builder
+public class TieredApplicantServiceConfig {
+
+    @Builder.Default
+    public int followUpThreads = 1;
+    @Builder.Default
+    public int followUpQueueSize = 10_000;
+    @Builder.Default
+    public Duration instantDecisionLatencyObjective = Duration.ofMillis(5);
+    @Builder.Default
+    public FollowUpFailureHandler followUpFailureHandler = (applicant, followUpName, throwable) ->
+            System.out.println(String.format("Failed the %s follow-up for the applicant %s: %s",
+                    followUpName, applicant.toString(), throwable.getMessage()));
+}
@@ -0,0 +1,152 @@
+package com.builtbybrendan.collegApplicantClassifier.application;
+
+import com.builtbybrendan.collegeApplicantClassifier.applicant.Applicant;
+import com.builtbybrendan.collegeApplicantClassifier.applicant.ApplicantDeduplicator;
+import com.builtbybrendan.collegeApplicantClassifier.applicant.ApplicantRepository;
+import com.builtbybrendan.collegeApplicantClassifier.applicant.ApplicantService;
+import com.builtbybrendan.collegeApplicantClassifier.applicant.ApplicantStatus;
+import com.builtbybrendan.collegeApplicantClassifier.applicant.Classification;
+import com.builtbybrendan.collegeApplicantClassifier.applicant.State;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class ApplicantDeduplicatorTest {
+
+    ApplicantRepository applicantRepository;
+    ApplicantDeduplicator applicantDeduplicator;
+    ApplicantService applicantService;
+
+    @BeforeEach
+    void setup() {
+        applicantRepository = mock(ApplicantRepository.class);
+        applicantDeduplicator = new ApplicantDeduplicator(1000);
+        applicantService = new ApplicantService(applicantRepository,
+                Clock.fixed(ZonedDateTime.of(2020, 6, 1, 12, 0, 0, 0, ZoneId.of("UTC")).toInstant(), ZoneId.of("UTC")),
+                applicantDeduplicator);
+    }
+
+    private Applicant applicant(String firstName, int satScore) {
+        return Applicant.builder()
+                .firstName(firstName)
+                .lastName("Smith")
+                .state(State.MARYLAND)
+                .age(18)
+                .gpa(2.0)
+                .gpaScale(4.0)
+                .satScore(satScore)
+                .felonyDates(Collections.emptyList())
+                .build();
+    }
+
+    @Test
+    void capacityShouldBeRoundedUpToPowerOfTwo() {
+        assertEquals(1024, applicantDeduplicator.getCapacity());
+    }
+
+    @Test
+    void capacityShouldNotBeSmallerThanBucket() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () ->
+                new ApplicantDeduplicator(2)
+        );
+
+        assertEquals("Capacity must be between 4 and 268435456", exception.getMessage());
+    }
+
+    @Test
+    void duplicateShouldReusePriorStatusWithoutSaving() {
+        ApplicantStatus first = applicantService.processApplicant(applicant("Joe", 1800));
+        Applicant duplicate = applicant("Joe", 1800);
+        ApplicantStatus second = applicantService.processApplicant(duplicate);
+
+        assertEquals(Classification.INSTANT_REJECT, second.getClassification());
+        assertEquals(first, second);
+        assertEquals(second, duplicate.getApplicantStatus());
+        assertEquals(1, applicantDeduplicator.getDuplicateCount());
+        verify(applicantRepository, times(1)).save(any(Applicant.class));
+    }
+
+    @Test
+    void nameDifferingOnlyInSurroundingWhitespaceShouldBeDuplicate() {
+        applicantService.processApplicant(applicant("Joe", 1800));
+        applicantService.processApplicant(applicant("Joe ", 1800));
+
+        assertEquals(1, applicantDeduplicator.getDuplicateCount());
+        verify(applicantRepository, times(1)).save(any(Applicant.class));
+    }
+
+    @Test
+    void incorrectlyCapitalizedNamesDifferingOnlyInCaseShouldBeDuplicate() {
+        applicantService.processApplicant(applicant("JOE", 1800));
+        applicantService.processApplicant(applicant("JoE", 1800));
+
+        assertEquals(1, applicantDeduplicator.getDuplicateCount());
+        verify(applicantRepository, times(1)).save(any(Applicant.class));
+    }
+
+    @Test
+    void nameDifferingInCapitalizationRuleShouldNotBeDuplicate() {
+        Applicant applicant = applicant("Joe", 1800);
+        applicant.setGpa(3.0);
+        Applicant lowerCase = applicant("joe", 1800);
+        lowerCase.setGpa(3.0);
+
+        assertEquals(Classification.FURTHER_REVIEW, applicantService.processApplicant(applicant).getClassification());
+        assertEquals(Classification.INSTANT_REJECT, applicantService.processApplicant(lowerCase).getClassification());
+        assertEquals(0, applicantDeduplicator.getDuplicateCount());
+    }
+
+    @Test
+    void applicationWithDifferentScoreShouldNotBeDuplicate() {
+        applicantService.processApplicant(applicant("Joe", 1800));
+        applicantService.processApplicant(applicant("Joe", 1801));
+
+        assertEquals(0, applicantDeduplicator.getDuplicateCount());
+        verify(applicantRepository, times(2)).save(any(Applicant.class));
+    }
+
+    @Test
+    void felonyOutsideWindowShouldNotBeDuplicateOfFelonyInsideWindow() {
+        Applicant recentFelony = applicant("Joe", 1800);
+        recentFelony.setGpa(3.0);
+        recentFelony.setFelonyDates(Collections.singletonList(LocalDate.of(2015, 6, 2)));
+
+        ApplicantService laterApplicantService = new ApplicantService(applicantRepository,
+                Clock.fixed(ZonedDateTime.of(2020, 6, 2, 12, 0, 0, 0, ZoneId.of("UTC")).toInstant(), ZoneId.of("UTC")),
+                applicantDeduplicator);
+        Applicant sameApplicationLater = applicant("Joe", 1800);
+        sameApplicationLater.setGpa(3.0);
+        sameApplicationLater.setFelonyDates(recentFelony.getFelonyDates());
+
+        assertEquals(Classification.INSTANT_REJECT, applicantService.processApplicant(recentFelony).getClassification());
+        assertEquals(Classification.FURTHER_REVIEW,
+                laterApplicantService.processApplicant(sameApplicationLater).getClassification());
+    }
+
+    @Test
+    void deduplicatorShouldKeepRecentApplicantsOnceFull() {
+        ApplicantDeduplicator smallDeduplicator = new ApplicantDeduplicator(16);
+        ApplicantService smallApplicantService = new ApplicantService(applicantRepository, Clock.systemUTC(),
+                smallDeduplicator);
+
+        for (int satScore = 400; satScore < 2400; satScore++) {
+            smallApplicantService.processApplicant(applicant("Joe", satScore));
+        }
+        smallApplicantService.processApplicant(applicant("Joe", 2399));
+
+        assertEquals(16, smallDeduplicator.getCapacity());
+        assertEquals(1, smallDeduplicator.getDuplicateCount());
+    }
+}
@@ -0,0 +1,107 @@
+package com.builtbybrendan.collegApplicantClassifier.application;
+
+import com.builtbybrendan.collegeApplicantClassifier.applicant.Applicant;
+import com.builtbybrendan.collegeApplicantClassifier.applicant.ApplicantEvaluationContext;
+import com.builtbybrendan.collegeApplicantClassifier.applicant.ApplicantService;
+import com.builtbybrendan.collegeApplicantClassifier.applicant.Classification;
+import com.builtbybrendan.collegeApplicantClassifier.applicant.State;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class ApplicantEvaluationContextTest {
+
+    private static final ZoneId ZONE = ZoneId.of("America/Los_Angeles");
+
+    MutableClock clock = new MutableClock(ZonedDateTime.of(2020, 6, 1, 23, 59, 0, 0, ZONE).toInstant(), ZONE);
+    ApplicantService applicantService = new ApplicantService(applicant -> applicant, clock);
+
+    private Applicant applicantWithFelony(LocalDate felonyDate) {
+        return Applicant.builder()
+                .firstName("Joe")
+                .lastName("Smith")
+                .state(State.CALIFORNIA)
+                .age(18)
+                .gpa(3.0)
+                .gpaScale(4.0)
+                .satScore(1920)
+                .felonyDates(Collections.singletonList(felonyDate))
+                .build();
+    }
+
+    @Test
+    void newEvaluationContextShouldUseDateOfClock() {
+        ApplicantEvaluationContext context = applicantService.newEvaluationContext();
+
+        assertEquals(LocalDate.of(2020, 6, 1), context.getEvaluationDate());
+        assertEquals(LocalDate.of(2015, 6, 1).toEpochDay(), context.getFelonyCutoffEpochDay());
+        assertEquals(ZonedDateTime.of(2020, 6, 2, 0, 0, 0, 0, ZONE).toInstant().toEpochMilli(),
+                context.getValidUntilEpochMilli());
+    }
+
+    @Test
+    void processApplicantShouldRejectFelonyAfterCutoff() {
+        assertEquals(Classification.INSTANT_REJECT,
+                applicantService.processApplicant(applicantWithFelony(LocalDate.of(2015, 6, 2))).getClassification());
+    }
+
+    @Test
+    void processApplicantShouldNotRejectFelonyOnCutoff() {
+        assertEquals(Classification.FURTHER_REVIEW,
+                applicantService.processApplicant(applicantWithFelony(LocalDate.of(2015, 6, 1))).getClassification());
+    }
+
+    @Test
+    void processApplicantShouldRefreshContextAfterMidnight() {
+        Applicant applicant = applicantWithFelony(LocalDate.of(2015, 6, 2));
+        assertEquals(Classification.INSTANT_REJECT, applicantService.processApplicant(applicant).getClassification());
+
+        clock.instant = clock.instant.plusSeconds(60);
+
+        assertEquals(Classification.FURTHER_REVIEW, applicantService.processApplicant(applicant).getClassification());
+    }
+
+    @Test
+    void processApplicantShouldUseGivenContextForWholeBatch() {
+        ApplicantEvaluationContext context = applicantService.newEvaluationContext();
+        Applicant applicant = applicantWithFelony(LocalDate.of(2015, 6, 2));
+
+        clock.instant = clock.instant.plusSeconds(60);
+
+        assertEquals(Classification.INSTANT_REJECT,
+                applicantService.processApplicant(applicant, context).getClassification());
+    }
+
+    private static class MutableClock extends Clock {
+
+        private final ZoneId zone;
+        private Instant instant;
+
+        private MutableClock(Instant instant, ZoneId zone) {
+            this.instant = instant;
+            this.zone = zone;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return zone;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return new MutableClock(instant, zone);
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
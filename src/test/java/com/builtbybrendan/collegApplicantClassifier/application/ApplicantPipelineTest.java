@@ -0,0 +1,250 @@
+package com.builtbybrendan.collegApplicantClassifier.application;
+
+import com.builtbybrendan.collegeApplicantClassifier.applicant.Applicant;
+import com.builtbybrendan.collegeApplicantClassifier.applicant.ApplicantRepository;
+import com.builtbybrendan.collegeApplicantClassifier.applicant.ApplicantService;
+import com.builtbybrendan.collegeApplicantClassifier.applicant.ApplicantValidator;
+import com.builtbybrendan.collegeApplicantClassifier.applicant.Classification;
+import com.builtbybrendan.collegeApplicantClassifier.applicant.State;
+import com.builtbybrendan.collegeApplicantClassifier.pipeline.ApplicantPipeline;
+import com.builtbybrendan.collegeApplicantClassifier.pipeline.ApplicantPipelineConfig;
+import com.builtbybrendan.collegeApplicantClassifier.pipeline.PipelineStageStats;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ApplicantPipelineTest {
+
+    ApplicantValidator applicantValidator = new ApplicantValidator();
+    Queue<Applicant> savedApplicants = new ConcurrentLinkedQueue<>();
+    Queue<Applicant> deadLetters = new ConcurrentLinkedQueue<>();
+
+    private Applicant applicant(Integer satScore) {
+        return Applicant.builder()
+                .firstName("Joe")
+                .lastName("Smith")
+                .state(State.CALIFORNIA)
+                .age(18)
+                .gpa(3.7)
+                .gpaScale(4.0)
+                .satScore(satScore)
+                .felonyDates(Collections.emptyList())
+                .build();
+    }
+
+    private ApplicantPipeline pipeline(ApplicantRepository applicantRepository, int bufferSize) {
+        return new ApplicantPipeline(applicantValidator, new ApplicantService(applicantRepository), applicantRepository,
+                ApplicantPipelineConfig.builder()
+                        .classifyParallelism(2)
+                        .bufferSize(bufferSize)
+                        .deadLetterHandler((applicant, stageName, exception) -> deadLetters.add(applicant))
+                        .build());
+    }
+
+    @Test
+    void pipelineShouldClassifyAndSaveValidApplicants() throws InterruptedException {
+        ApplicantPipeline applicantPipeline = pipeline(applicant -> {
+            savedApplicants.add(applicant);
+            return applicant;
+        }, 4);
+
+        for (int i = 0; i < 50; i++) {
+            applicantPipeline.submit(applicant(1950));
+        }
+        applicantPipeline.close();
+
+        assertEquals(50, savedApplicants.size());
+        savedApplicants.forEach(applicant ->
+                assertEquals(Classification.INSTANT_ACCEPT, applicant.getApplicantStatus().getClassification()));
+        assertTrue(deadLetters.isEmpty());
+    }
+
+    @Test
+    void pipelineShouldDeadLetterInvalidApplicants() throws InterruptedException {
+        ApplicantPipeline applicantPipeline = pipeline(applicant -> {
+            savedApplicants.add(applicant);
+            return applicant;
+        }, 4);
+
+        applicantPipeline.submit(applicant(1950));
+        applicantPipeline.submit(applicant(null));
+        applicantPipeline.close();
+
+        assertEquals(1, savedApplicants.size());
+        assertEquals(1, deadLetters.size());
+        assertNull(deadLetters.peek().getApplicantStatus());
+
+        List<PipelineStageStats> stageStats = applicantPipeline.getStageStats();
+        assertEquals(ApplicantPipeline.VALIDATE_STAGE, stageStats.get(0).getStageName());
+        assertEquals(1, stageStats.get(0).getProcessedCount());
+        assertEquals(1, stageStats.get(0).getDeadLetterCount());
+        assertEquals(1, stageStats.get(1).getProcessedCount());
+        assertEquals(1, stageStats.get(2).getProcessedCount());
+    }
+
+    @Test
+    void slowRepositoryShouldThrottleSubmission() throws InterruptedException {
+        CountDownLatch repositoryReleased = new CountDownLatch(1);
+        ApplicantPipeline applicantPipeline = pipeline(applicant -> {
+            try {
+                repositoryReleased.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            savedApplicants.add(applicant);
+            return applicant;
+        }, 1);
+
+        AtomicInteger submitted = new AtomicInteger();
+        Thread source = new Thread(() -> {
+            try {
+                for (int i = 0; i < 100; i++) {
+                    applicantPipeline.submit(applicant(1950));
+                    submitted.incrementAndGet();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        source.start();
+        Thread.sleep(200);
+
+        // one applicant in each buffer, plus one held by each of the four workers
+        assertTrue(submitted.get() <= 7, "Submitted " + submitted.get() + " applicants to a blocked pipeline");
+
+        repositoryReleased.countDown();
+        source.join();
+        applicantPipeline.complete();
+
+        assertTrue(applicantPipeline.awaitCompletion(10, TimeUnit.SECONDS));
+        assertEquals(100, savedApplicants.size());
+    }
+
+    @Test
+    void completeShouldWaitForBlockedSubmissions() throws InterruptedException {
+        CountDownLatch repositoryReleased = new CountDownLatch(1);
+        ApplicantPipeline applicantPipeline = pipeline(applicant -> {
+            try {
+                repositoryReleased.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            savedApplicants.add(applicant);
+            return applicant;
+        }, 1);
+
+        AtomicInteger submitted = new AtomicInteger();
+        Thread source = new Thread(() -> {
+            try {
+                for (int i = 0; i < 100; i++) {
+                    applicantPipeline.submit(applicant(1950));
+                    submitted.incrementAndGet();
+                }
+            } catch (IllegalStateException | InterruptedException e) {
+                // the pipeline was completed while submitting
+            }
+        });
+        source.start();
+        Thread.sleep(100);
+
+        Thread completer = new Thread(() -> {
+            try {
+                applicantPipeline.complete();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        completer.start();
+        Thread.sleep(100);
+        repositoryReleased.countDown();
+        source.join();
+        completer.join();
+
+        assertTrue(applicantPipeline.awaitCompletion(10, TimeUnit.SECONDS));
+        assertEquals(submitted.get(), savedApplicants.size());
+    }
+
+    @Test
+    void failingDeadLetterHandlerShouldNotStopStage() throws InterruptedException {
+        ApplicantPipeline applicantPipeline = new ApplicantPipeline(applicantValidator,
+                new ApplicantService(applicant -> applicant), applicant -> {
+                    savedApplicants.add(applicant);
+                    return applicant;
+                },
+                ApplicantPipelineConfig.builder()
+                        .bufferSize(1)
+                        .deadLetterHandler((applicant, stageName, throwable) -> {
+                            throw new IllegalStateException("Dead letter store is down");
+                        })
+                        .build());
+
+        for (int i = 0; i < 20; i++) {
+            applicantPipeline.submit(applicant(i % 2 == 0 ? 1950 : null));
+        }
+        applicantPipeline.complete();
+
+        assertTrue(applicantPipeline.awaitCompletion(10, TimeUnit.SECONDS));
+        assertEquals(10, savedApplicants.size());
+        assertEquals(10, applicantPipeline.getStageStats().get(0).getDeadLetterHandlerFailureCount());
+    }
+
+    @Test
+    void errorFromStageShouldBeDeadLettered() throws InterruptedException {
+        ApplicantPipeline applicantPipeline = pipeline(applicant -> {
+            throw new AssertionError("Repository is broken");
+        }, 1);
+
+        for (int i = 0; i < 20; i++) {
+            applicantPipeline.submit(applicant(1950));
+        }
+        applicantPipeline.complete();
+
+        assertTrue(applicantPipeline.awaitCompletion(10, TimeUnit.SECONDS));
+        assertEquals(20, deadLetters.size());
+        assertEquals(20, applicantPipeline.getStageStats().get(2).getDeadLetterCount());
+    }
+
+    @Test
+    void fatalErrorShouldFailStageWithoutBlockingSubmission() throws InterruptedException {
+        ApplicantPipeline applicantPipeline = pipeline(applicant -> {
+            throw new StackOverflowError();
+        }, 1);
+
+        for (int i = 0; i < 20; i++) {
+            applicantPipeline.submit(applicant(1950));
+        }
+        applicantPipeline.complete();
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class, () ->
+                applicantPipeline.awaitCompletion(10, TimeUnit.SECONDS)
+        );
+
+        assertEquals("The persist stage failed", exception.getMessage());
+        assertTrue(exception.getCause() instanceof StackOverflowError);
+        assertEquals(19, deadLetters.size());
+        assertEquals(19, applicantPipeline.getStageStats().get(2).getDeadLetterCount());
+    }
+
+    @Test
+    void submitShouldFailAfterComplete() throws InterruptedException {
+        ApplicantPipeline applicantPipeline = pipeline(applicant -> applicant, 4);
+        applicantPipeline.close();
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class, () ->
+                applicantPipeline.submit(applicant(1950))
+        );
+
+        assertEquals("Cannot submit an applicant to a completed pipeline", exception.getMessage());
+    }
+}
@@ -0,0 +1,171 @@
+package com.builtbybrendan.collegApplicantClassifier.application;
+
+import com.builtbybrendan.collegeApplicantClassifier.applicant.Applicant;
+import com.builtbybrendan.collegeApplicantClassifier.applicant.ApplicantPage;
+import com.builtbybrendan.collegeApplicantClassifier.applicant.ApplicantQuery;
+import com.builtbybrendan.collegeApplicantClassifier.applicant.ApplicantRepository;
+import com.builtbybrendan.collegeApplicantClassifier.applicant.ApplicantService;
+import com.builtbybrendan.collegeApplicantClassifier.applicant.Classification;
+import com.builtbybrendan.collegeApplicantClassifier.applicant.IndexedApplicantRepository;
+import com.builtbybrendan.collegeApplicantClassifier.applicant.State;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class IndexedApplicantRepositoryTest {
+
+    private static final String GPA_REASON = "Applicant cannot have GPA below 70%";
+    private static final String FIRST_NAME_REASON =
+            "Applicant must have a first name with the first letter capitalized, the rest lower case";
+
+    ApplicantRepository delegate;
+    IndexedApplicantRepository indexedApplicantRepository;
+    ApplicantService applicantService;
+
+    @BeforeEach
+    void setup() {
+        delegate = mock(ApplicantRepository.class);
+        indexedApplicantRepository = new IndexedApplicantRepository(delegate);
+        applicantService = new ApplicantService(indexedApplicantRepository);
+
+        applicantService.processApplicant(applicant("Joe", State.CALIFORNIA, 18, 3.7, 1950));
+        applicantService.processApplicant(applicant("Ann", State.MARYLAND, 19, 3.0, 1850));
+        applicantService.processApplicant(applicant("Bob", State.TEXAS, 20, 3.2, 1700));
+        applicantService.processApplicant(applicant("Cal", State.TEXAS, 20, 2.0, 1800));
+        applicantService.processApplicant(applicant("dee", State.MARYLAND, 21, 3.3, 1900));
+        applicantService.processApplicant(applicant("Eve", State.CALIFORNIA, 22, 3.1, 2000));
+    }
+
+    private Applicant applicant(String firstName, State state, int age, double gpa, int satScore) {
+        return Applicant.builder()
+                .firstName(firstName)
+                .lastName("Smith")
+                .state(state)
+                .age(age)
+                .gpa(gpa)
+                .gpaScale(4.0)
+                .satScore(satScore)
+                .felonyDates(Collections.emptyList())
+                .build();
+    }
+
+    @Test
+    void saveShouldPassApplicantToDelegate() {
+        verify(delegate, times(6)).save(any(Applicant.class));
+    }
+
+    @Test
+    void countShouldMatchAllApplicantsForEmptyQuery() {
+        assertEquals(6, indexedApplicantRepository.count(ApplicantQuery.builder().build()));
+    }
+
+    @Test
+    void countShouldCombineClassificationStateAndSatScore() {
+        ApplicantQuery query = ApplicantQuery.builder()
+                .classification(Classification.FURTHER_REVIEW)
+                .states(EnumSet.complementOf(EnumSet.of(State.CALIFORNIA)))
+                .minimumSatScore(1800)
+                .build();
+
+        assertEquals(1, indexedApplicantRepository.count(query));
+    }
+
+    @Test
+    void countShouldFilterOnGpaPercentRange() {
+        ApplicantQuery query = ApplicantQuery.builder()
+                .minimumGpaPercent(0.75)
+                .maximumGpaPercent(0.8)
+                .build();
+
+        assertEquals(3, indexedApplicantRepository.count(query));
+    }
+
+    @Test
+    void countShouldNotMatchApplicantsWithoutRangedValue() {
+        ApplicantQuery query = ApplicantQuery.builder()
+                .minimumActScore(0)
+                .build();
+
+        assertEquals(0, indexedApplicantRepository.count(query));
+    }
+
+    @Test
+    void countByClassificationShouldGroupMatchingApplicants() {
+        Map<Classification, Integer> counts = indexedApplicantRepository.countByClassification(
+                ApplicantQuery.builder().build());
+
+        assertEquals(1, counts.get(Classification.INSTANT_ACCEPT));
+        assertEquals(2, counts.get(Classification.INSTANT_REJECT));
+        assertEquals(3, counts.get(Classification.FURTHER_REVIEW));
+    }
+
+    @Test
+    void countByRejectReasonAndStateShouldGroupRejectedApplicants() {
+        Map<String, Map<State, Integer>> counts = indexedApplicantRepository.countByRejectReasonAndState(
+                ApplicantQuery.builder().classification(Classification.INSTANT_REJECT).build());
+
+        assertEquals(2, counts.size());
+        assertEquals(Collections.singletonMap(State.TEXAS, 1), counts.get(GPA_REASON));
+        assertEquals(Collections.singletonMap(State.MARYLAND, 1), counts.get(FIRST_NAME_REASON));
+        assertThrows(UnsupportedOperationException.class, () -> counts.remove(GPA_REASON));
+    }
+
+    @Test
+    void findShouldPageThroughMatchesInSaveOrder() {
+        ApplicantQuery query = ApplicantQuery.builder().minimumAge(19).build();
+
+        ApplicantPage firstPage = indexedApplicantRepository.find(query, 0, 3);
+        ApplicantPage secondPage = indexedApplicantRepository.find(query, 1, 3);
+
+        assertEquals(5, firstPage.getTotalCount());
+        assertTrue(firstPage.hasNext());
+        assertEquals(Arrays.asList("Ann", "Bob", "Cal"), firstNames(firstPage));
+        assertFalse(secondPage.hasNext());
+        assertEquals(Arrays.asList("dee", "Eve"), firstNames(secondPage));
+    }
+
+    @Test
+    void findShouldRejectInvalidPageSize() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () ->
+                indexedApplicantRepository.find(ApplicantQuery.builder().build(), 0, 0)
+        );
+
+        assertEquals("Page Size must be greater than zero", exception.getMessage());
+    }
+
+    @Test
+    void saveShouldReindexApplicantSavedAgain() {
+        Applicant applicant = indexedApplicantRepository.find(
+                ApplicantQuery.builder().rejectReason(FIRST_NAME_REASON).build(), 0, 1).getApplicants().get(0);
+        applicant.setFirstName("Dee");
+
+        applicantService.processApplicant(applicant);
+
+        assertEquals(6, indexedApplicantRepository.count(ApplicantQuery.builder().build()));
+        assertEquals(0, indexedApplicantRepository.count(
+                ApplicantQuery.builder().rejectReason(FIRST_NAME_REASON).build()));
+        assertEquals(4, indexedApplicantRepository.count(
+                ApplicantQuery.builder().classification(Classification.FURTHER_REVIEW).build()));
+    }
+
+    private static List<String> firstNames(ApplicantPage page) {
+        return page.getApplicants().stream()
+                .map(Applicant::getFirstName)
+                .collect(Collectors.toList());
+    }
+}
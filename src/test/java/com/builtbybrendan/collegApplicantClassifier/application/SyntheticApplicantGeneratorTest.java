@@ -0,0 +1,111 @@
+package com.builtbybrendan.collegApplicantClassifier.application;
+
+import com.builtbybrendan.collegeApplicantClassifier.applicant.Applicant;
+import com.builtbybrendan.collegeApplicantClassifier.applicant.ApplicantCsvFormat;
+import com.builtbybrendan.collegeApplicantClassifier.applicant.ApplicantService;
+import com.builtbybrendan.collegeApplicantClassifier.applicant.ApplicantValidator;
+import com.builtbybrendan.collegeApplicantClassifier.applicant.Classification;
+import com.builtbybrendan.collegeApplicantClassifier.loadtest.SoakTestReport;
+import com.builtbybrendan.collegeApplicantClassifier.loadtest.SoakTestRunner;
+import com.builtbybrendan.collegeApplicantClassifier.loadtest.SyntheticApplicantGenerator;
+import com.builtbybrendan.collegeApplicantClassifier.loadtest.SyntheticApplicantProfile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SyntheticApplicantGeneratorTest {
+
+    SyntheticApplicantProfile profile = SyntheticApplicantProfile.builder().build();
+    ApplicantCsvFormat applicantCsvFormat = new ApplicantCsvFormat();
+
+    @Test
+    void sameSeedShouldGenerateSameApplicants() {
+        List<Applicant> first = new SyntheticApplicantGenerator(42, profile).stream(500).collect(Collectors.toList());
+        List<Applicant> second = new SyntheticApplicantGenerator(42, profile).stream(500).collect(Collectors.toList());
+        List<Applicant> other = new SyntheticApplicantGenerator(43, profile).stream(500).collect(Collectors.toList());
+
+        assertEquals(first, second);
+        assertNotEquals(first, other);
+    }
+
+    @Test
+    void defaultProfileShouldGenerateValidApplicants() {
+        ApplicantValidator applicantValidator = new ApplicantValidator();
+
+        new SyntheticApplicantGenerator(7, profile).stream(10_000).forEach(applicant ->
+                assertDoesNotThrow(() -> applicantValidator.validate(applicant)));
+    }
+
+    @Test
+    void defaultProfileShouldGenerateRealisticClassificationMix() {
+        Map<Classification, Long> counts = new SyntheticApplicantGenerator(7, profile)
+                .feed(applicant -> applicant, 10_000);
+
+        assertTrue(counts.get(Classification.INSTANT_ACCEPT) > 200, counts.toString());
+        assertTrue(counts.get(Classification.INSTANT_REJECT) > 800, counts.toString());
+        assertTrue(counts.get(Classification.FURTHER_REVIEW) > 6_000, counts.toString());
+    }
+
+    @Test
+    void defaultProfileShouldClassifyTheSameOnEveryRun() {
+        SyntheticApplicantProfile otherProfile = SyntheticApplicantProfile.builder().build();
+
+        assertEquals(SyntheticApplicantProfile.DEFAULT_REFERENCE_DATE, otherProfile.getReferenceDate());
+        assertEquals(new SyntheticApplicantGenerator(7, profile).feed(applicant -> applicant, 10_000),
+                new SyntheticApplicantGenerator(7, otherProfile).feed(applicant -> applicant, 10_000));
+    }
+
+    @Test
+    void feedShouldSkipInvalidApplicants() {
+        SyntheticApplicantProfile invalidProfile = SyntheticApplicantProfile.builder()
+                .missingTestScoreProbability(1)
+                .build();
+
+        Map<Classification, Long> counts = new SyntheticApplicantGenerator(7, invalidProfile)
+                .feed(applicant -> applicant, 100);
+
+        assertTrue(counts.isEmpty());
+    }
+
+    @Test
+    void writeShouldProduceApplicantsThatParseBack(@TempDir Path directory) throws IOException {
+        Path file = directory.resolve("applicants.csv");
+        new SyntheticApplicantGenerator(11, profile).write(file, 1_000);
+
+        List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        List<Applicant> expected = new SyntheticApplicantGenerator(11, profile).stream(1_000).collect(Collectors.toList());
+
+        assertEquals(ApplicantCsvFormat.HEADER, lines.get(0));
+        assertEquals(expected, lines.subList(1, lines.size()).stream()
+                .map(applicantCsvFormat::parse)
+                .collect(Collectors.toList()));
+    }
+
+    @Test
+    void soakTestShouldReportProcessedApplicants() {
+        SoakTestRunner soakTestRunner = new SoakTestRunner(new SyntheticApplicantGenerator(3, profile),
+                new ApplicantService(applicant -> applicant, profile.getReferenceClock()));
+
+        SoakTestReport report = soakTestRunner.run(Duration.ofMillis(200), Duration.ofMillis(50), intervalReport -> {
+        });
+
+        assertTrue(report.getProcessedCount() > 0);
+        assertEquals(report.getProcessedCount(), report.getClassificationCounts().values().stream()
+                .mapToLong(Long::longValue)
+                .sum());
+        assertTrue(report.getThroughputPerSecond() > 0);
+    }
+}
@@ -0,0 +1,365 @@
+package com.builtbybrendan.collegApplicantClassifier.application;
+
+import com.builtbybrendan.collegeApplicantClassifier.applicant.Applicant;
+import com.builtbybrendan.collegeApplicantClassifier.applicant.ApplicantRepository;
+import com.builtbybrendan.collegeApplicantClassifier.applicant.ApplicantService;
+import com.builtbybrendan.collegeApplicantClassifier.applicant.ApplicantValidator;
+import com.builtbybrendan.collegeApplicantClassifier.applicant.Classification;
+import com.builtbybrendan.collegeApplicantClassifier.applicant.State;
+import com.builtbybrendan.collegeApplicantClassifier.tiered.FurtherReviewQueue;
+import com.builtbybrendan.collegeApplicantClassifier.tiered.LatencyStats;
+import com.builtbybrendan.collegeApplicantClassifier.tiered.TieredApplicantService;
+import com.builtbybrendan.collegeApplicantClassifier.tiered.TieredApplicantServiceConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TieredApplicantServiceTest {
+
+    @TempDir
+    Path directory;
+
+    CountDownLatch repositoryReleased = new CountDownLatch(1);
+    Queue<Applicant> savedApplicants = new ConcurrentLinkedQueue<>();
+    FurtherReviewQueue furtherReviewQueue;
+    TieredApplicantService tieredApplicantService;
+
+    @BeforeEach
+    void setup() throws IOException {
+        ApplicantRepository applicantRepository = applicant -> {
+            try {
+                repositoryReleased.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            savedApplicants.add(applicant);
+            return applicant;
+        };
+
+        furtherReviewQueue = new FurtherReviewQueue(directory);
+        tieredApplicantService = new TieredApplicantService(new ApplicantValidator(),
+                new ApplicantService(applicantRepository), applicantRepository, furtherReviewQueue,
+                TieredApplicantServiceConfig.builder()
+                        .instantDecisionLatencyObjective(Duration.ofSeconds(1))
+                        .build());
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        furtherReviewQueue.close();
+    }
+
+    private Applicant applicant(String firstName, double gpa) {
+        return Applicant.builder()
+                .firstName(firstName)
+                .lastName("Smith")
+                .state(State.CALIFORNIA)
+                .age(18)
+                .gpa(gpa)
+                .gpaScale(4.0)
+                .satScore(1950)
+                .felonyDates(Collections.emptyList())
+                .build();
+    }
+
+    @Test
+    void instantDecisionShouldReturnBeforeSaveCompletes() throws InterruptedException {
+        assertEquals(Classification.INSTANT_ACCEPT,
+                tieredApplicantService.processApplicant(applicant("Joe", 3.7)).getClassification());
+        assertEquals(Classification.INSTANT_REJECT,
+                tieredApplicantService.processApplicant(applicant("Ann", 2.0)).getClassification());
+        assertTrue(savedApplicants.isEmpty());
+        assertTrue(tieredApplicantService.getPendingFollowUpCount() > 0);
+
+        repositoryReleased.countDown();
+
+        assertTrue(tieredApplicantService.shutdown(10, TimeUnit.SECONDS));
+        assertEquals(2, savedApplicants.size());
+        assertEquals(0, furtherReviewQueue.size());
+    }
+
+    @Test
+    void furtherReviewShouldBeSavedAndQueuedForStaff() throws InterruptedException, IOException {
+        repositoryReleased.countDown();
+
+        assertEquals(Classification.FURTHER_REVIEW,
+                tieredApplicantService.processApplicant(applicant("Joe", 3.0)).getClassification());
+
+        assertTrue(tieredApplicantService.shutdown(10, TimeUnit.SECONDS));
+        assertEquals(1, savedApplicants.size());
+        assertEquals(1, furtherReviewQueue.size());
+        assertEquals("Joe", furtherReviewQueue.poll().getFirstName());
+        assertNull(furtherReviewQueue.poll());
+    }
+
+    @Test
+    void invalidApplicantShouldThrowWithoutFollowUp() throws InterruptedException {
+        repositoryReleased.countDown();
+        Applicant applicant = applicant("Joe", 3.0);
+        applicant.setSatScore(null);
+
+        assertThrows(IllegalArgumentException.class, () -> tieredApplicantService.processApplicant(applicant));
+
+        assertTrue(tieredApplicantService.shutdown(10, TimeUnit.SECONDS));
+        assertTrue(savedApplicants.isEmpty());
+    }
+
+    @Test
+    void latencyShouldBeTrackedPerClassification() {
+        repositoryReleased.countDown();
+        tieredApplicantService.processApplicant(applicant("Joe", 3.7));
+        tieredApplicantService.processApplicant(applicant("Ann", 3.7));
+        tieredApplicantService.processApplicant(applicant("Bob", 3.0));
+
+        LatencyStats instantAccept = tieredApplicantService.getLatencyStats(Classification.INSTANT_ACCEPT);
+        LatencyStats furtherReview = tieredApplicantService.getLatencyStats(Classification.FURTHER_REVIEW);
+
+        assertEquals(2, instantAccept.getCount());
+        assertEquals(Duration.ofSeconds(1), instantAccept.getServiceLevelObjective());
+        assertEquals(0, instantAccept.getServiceLevelObjectiveBreachCount());
+        assertTrue(instantAccept.getMaximum().compareTo(instantAccept.getNinetyNinthPercentile()) <= 0);
+        assertEquals(1, furtherReview.getCount());
+        assertNull(furtherReview.getServiceLevelObjective());
+        assertEquals(0, tieredApplicantService.getLatencyStats(Classification.INSTANT_REJECT).getCount());
+    }
+
+    @Test
+    void furtherReviewShouldBeQueuedBeforeSaveCompletes() throws InterruptedException, IOException {
+        assertEquals(Classification.FURTHER_REVIEW,
+                tieredApplicantService.processApplicant(applicant("Joe", 3.0)).getClassification());
+
+        assertTrue(savedApplicants.isEmpty());
+        assertEquals(1, furtherReviewQueue.size());
+        assertEquals("Joe", furtherReviewQueue.poll().getFirstName());
+
+        repositoryReleased.countDown();
+        assertTrue(tieredApplicantService.shutdown(10, TimeUnit.SECONDS));
+        assertEquals(1, savedApplicants.size());
+    }
+
+    @Test
+    void processApplicantShouldFailAfterShutdown() throws InterruptedException {
+        repositoryReleased.countDown();
+        assertTrue(tieredApplicantService.shutdown(10, TimeUnit.SECONDS));
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class, () ->
+                tieredApplicantService.processApplicant(applicant("Joe", 3.0))
+        );
+
+        assertEquals("Cannot process an applicant after shutdown", exception.getMessage());
+        assertTrue(savedApplicants.isEmpty());
+        assertEquals(0, furtherReviewQueue.size());
+    }
+
+    @Test
+    void failedSaveShouldBePassedToFailureHandler() throws InterruptedException {
+        Queue<Applicant> failedApplicants = new ConcurrentLinkedQueue<>();
+        ApplicantRepository applicantRepository = applicant -> {
+            throw new IllegalStateException("Database is down");
+        };
+        TieredApplicantService failingService = new TieredApplicantService(new ApplicantValidator(),
+                new ApplicantService(applicantRepository), applicantRepository, furtherReviewQueue,
+                TieredApplicantServiceConfig.builder()
+                        .followUpFailureHandler((applicant, followUpName, throwable) -> {
+                            assertEquals(TieredApplicantService.SAVE_FOLLOW_UP, followUpName);
+                            assertEquals("Database is down", throwable.getMessage());
+                            failedApplicants.add(applicant);
+                        })
+                        .build());
+
+        failingService.processApplicant(applicant("Joe", 3.7));
+        failingService.processApplicant(applicant("Ann", 3.0));
+
+        assertTrue(failingService.shutdown(10, TimeUnit.SECONDS));
+        assertEquals(2, failedApplicants.size());
+        assertEquals(2, failingService.getFollowUpFailureCount());
+        assertEquals(1, furtherReviewQueue.size());
+    }
+
+    @Test
+    void shutdownRacingProcessApplicantShouldSaveEveryQueuedApplicant() throws InterruptedException {
+        repositoryReleased.countDown();
+        AtomicInteger furtherReviews = new AtomicInteger();
+        AtomicInteger unexpectedFailures = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(4);
+        List<Thread> callers = new ArrayList<>();
+
+        for (int i = 0; i < 4; i++) {
+            Thread caller = new Thread(() -> {
+                started.countDown();
+                try {
+                    while (true) {
+                        tieredApplicantService.processApplicant(applicant("Joe", 3.0));
+                        furtherReviews.incrementAndGet();
+                    }
+                } catch (IllegalStateException e) {
+                    // the service was shut down
+                } catch (RuntimeException e) {
+                    unexpectedFailures.incrementAndGet();
+                }
+            });
+            caller.start();
+            callers.add(caller);
+        }
+        started.await();
+        Thread.sleep(50);
+
+        assertTrue(tieredApplicantService.shutdown(10, TimeUnit.SECONDS));
+        for (Thread caller : callers) {
+            caller.join();
+        }
+
+        assertEquals(0, unexpectedFailures.get());
+        assertTrue(furtherReviews.get() > 0);
+        assertEquals(furtherReviews.get(), savedApplicants.size());
+        assertEquals(furtherReviews.get(), furtherReviewQueue.size());
+    }
+
+    @Test
+    void failingFailureHandlerShouldBeCounted() throws InterruptedException {
+        ApplicantRepository applicantRepository = applicant -> {
+            throw new IllegalStateException("Database is down");
+        };
+        TieredApplicantService failingService = new TieredApplicantService(new ApplicantValidator(),
+                new ApplicantService(applicantRepository), applicantRepository, furtherReviewQueue,
+                TieredApplicantServiceConfig.builder()
+                        .followUpFailureHandler((applicant, followUpName, throwable) -> {
+                            throw new IllegalStateException("Failure store is down");
+                        })
+                        .build());
+
+        failingService.processApplicant(applicant("Joe", 3.7));
+        failingService.processApplicant(applicant("Ann", 3.7));
+
+        assertTrue(failingService.shutdown(10, TimeUnit.SECONDS));
+        assertEquals(2, failingService.getFollowUpFailureCount());
+        assertEquals(2, failingService.getFollowUpFailureHandlerFailureCount());
+    }
+
+    @Test
+    void furtherReviewQueueShouldSurviveReopening() throws IOException {
+        furtherReviewQueue.add(applicant("Joe", 3.0));
+        furtherReviewQueue.add(applicant("Ann", 3.0));
+        assertEquals("Joe", furtherReviewQueue.poll().getFirstName());
+        furtherReviewQueue.close();
+
+        furtherReviewQueue = new FurtherReviewQueue(directory);
+
+        assertEquals(1, furtherReviewQueue.size());
+        assertEquals("Ann", furtherReviewQueue.poll().getFirstName());
+        assertNull(furtherReviewQueue.poll());
+        assertEquals(0, Files.size(directory.resolve("further-review.csv")));
+    }
+
+    @Test
+    void furtherReviewQueueShouldDropPartlyWrittenApplicant() throws IOException {
+        furtherReviewQueue.add(applicant("Joe", 3.0));
+        furtherReviewQueue.close();
+        Files.write(directory.resolve("further-review.csv"), "Ann,Smi".getBytes(StandardCharsets.UTF_8),
+                StandardOpenOption.APPEND);
+
+        furtherReviewQueue = new FurtherReviewQueue(directory);
+        furtherReviewQueue.add(applicant("Bob", 3.0));
+
+        assertEquals(2, furtherReviewQueue.size());
+        assertEquals("Joe", furtherReviewQueue.poll().getFirstName());
+        assertEquals("Bob", furtherReviewQueue.poll().getFirstName());
+    }
+
+    @Test
+    void furtherReviewQueueShouldKeepNamesWithSeparatorsOnOneLine() throws IOException {
+        Applicant applicant = applicant("Jo\nE, \\Jr", 3.0);
+        applicant.setLastName("Smith\r\n");
+        furtherReviewQueue.add(applicant);
+        furtherReviewQueue.add(applicant("Ann", 3.0));
+        furtherReviewQueue.close();
+
+        furtherReviewQueue = new FurtherReviewQueue(directory);
+
+        assertEquals(2, furtherReviewQueue.size());
+        assertEquals(2, Files.readAllLines(directory.resolve("further-review.csv")).size());
+        assertEquals(applicant, furtherReviewQueue.poll());
+        assertEquals("Ann", furtherReviewQueue.poll().getFirstName());
+    }
+
+    @Test
+    void furtherReviewQueueShouldMoveUnreadableLineAside() throws IOException {
+        furtherReviewQueue.add(applicant("Joe", 3.0));
+        furtherReviewQueue.close();
+        Files.write(directory.resolve("further-review.csv"), "not,an,applicant\n".getBytes(StandardCharsets.UTF_8),
+                StandardOpenOption.APPEND);
+
+        furtherReviewQueue = new FurtherReviewQueue(directory);
+        furtherReviewQueue.add(applicant("Bob", 3.0));
+
+        assertEquals(3, furtherReviewQueue.size());
+        assertEquals("Joe", furtherReviewQueue.poll().getFirstName());
+        assertEquals("Bob", furtherReviewQueue.poll().getFirstName());
+        assertNull(furtherReviewQueue.poll());
+        assertEquals(0, furtherReviewQueue.size());
+        assertEquals(Collections.singletonList("not,an,applicant"),
+                Files.readAllLines(directory.resolve("further-review.unreadable")));
+    }
+
+    @Test
+    void furtherReviewQueueShouldCompactTakenApplicants() throws IOException {
+        furtherReviewQueue.close();
+        furtherReviewQueue = new FurtherReviewQueue(directory, 1);
+        furtherReviewQueue.add(applicant("Joe", 3.0));
+        furtherReviewQueue.add(applicant("Ann", 3.0));
+        furtherReviewQueue.add(applicant("Bob", 3.0));
+
+        assertEquals("Joe", furtherReviewQueue.poll().getFirstName());
+        assertEquals("Ann", furtherReviewQueue.poll().getFirstName());
+        furtherReviewQueue.add(applicant("Amy", 3.0));
+        assertEquals("Bob", furtherReviewQueue.poll().getFirstName());
+
+        assertEquals(2, Files.readAllLines(directory.resolve("further-review.csv")).size());
+        furtherReviewQueue.close();
+
+        furtherReviewQueue = new FurtherReviewQueue(directory, 1);
+
+        assertEquals(1, furtherReviewQueue.size());
+        assertEquals("Amy", furtherReviewQueue.poll().getFirstName());
+        assertNull(furtherReviewQueue.poll());
+    }
+
+    @Test
+    void furtherReviewQueueShouldKeepApplicantWhenOffsetCannotBeWritten() throws IOException {
+        Path offsetPath = directory.resolve("further-review.offset");
+        furtherReviewQueue.add(applicant("Joe", 3.0));
+        Files.createDirectories(offsetPath.resolve("blocked"));
+
+        assertThrows(IOException.class, () -> furtherReviewQueue.poll());
+        assertEquals(1, furtherReviewQueue.size());
+
+        Files.delete(offsetPath.resolve("blocked"));
+        Files.delete(offsetPath);
+        furtherReviewQueue.add(applicant("Ann", 3.0));
+
+        assertEquals("Joe", furtherReviewQueue.poll().getFirstName());
+        assertEquals("Ann", furtherReviewQueue.poll().getFirstName());
+        assertNull(furtherReviewQueue.poll());
+    }
+}